@@ -40,6 +40,21 @@ public class Config extends Application {
         return value;
     }
 
+    /**
+     * Gets the value of a property as a number
+     *
+     * @param property     the key of the property to be read
+     * @param defaultValue the value to use if the property is missing or not a number
+     * @return the value of the property
+     */
+    public static int getIntProperty(String property, int defaultValue) {
+        try {
+            return Integer.parseInt(getProperty(property).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     /**
      * reads the properties file
      *
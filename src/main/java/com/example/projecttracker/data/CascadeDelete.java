@@ -0,0 +1,207 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deletes projects with their tasks, issues and patch notes, or a user with all their projects, in the JSON-files.
+ * All uuids to delete are collected first and every file is then written once, with one batch of its writer.
+ * <p>
+ * Before anything is deleted, the uuids are written to a journal next to the project file
+ * (the same path with .cascade at the end). The journal is removed once all files are written.
+ * If a delete fails or the application stops in between, the journal is still there and the delete is
+ * finished by the next cascade delete or when the application starts (see {@link CascadeRecovery}). Deleting a uuid that is already
+ * gone does nothing, so the journal can be applied again at any time.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see ProjectDatahandler
+ * @since 2026-10-17
+ */
+public final class CascadeDelete {
+    /**
+     * The handlers of the files, in the order the files are written
+     */
+    private static final Map<String, DataHandlerGen<?>> HANDLERS = new LinkedHashMap<>();
+
+    static {
+        HANDLERS.put("projectJSON", new ProjectDatahandler());
+        HANDLERS.put("taskJSON", new TaskDataHandler());
+        HANDLERS.put("issueJSON", new IssueDataHandler());
+        HANDLERS.put("patchNoteJSON", new PatchnoteDataHandler());
+        HANDLERS.put("userJSON", new UserDataHandler());
+    }
+
+    /**
+     * Utility class, no instances.
+     */
+    private CascadeDelete() {
+    }
+
+    /**
+     * Deletes projects with their tasks, issues and patch notes. Unknown projects are skipped.
+     *
+     * @param projectUUIDs the uuids of the projects
+     * @throws IOException when the files cannot be written, the delete is finished later from the journal
+     */
+    public static synchronized void deleteProjects(Collection<String> projectUUIDs) throws IOException {
+        recover();
+        Map<String, Set<String>> plan = newPlan();
+        PrimaryKeyIndex<Project> projects = new ProjectDatahandler().getIndex("projectJSON");
+        for (String uuid : projectUUIDs) {
+            Project project = projects.get(uuid);
+            if (project != null) {
+                add(plan, project);
+            }
+        }
+        run(plan);
+    }
+
+    /**
+     * Deletes a user with all their projects and the tasks, issues and patch notes of the projects.
+     *
+     * @param userUUID the uuid of the user
+     * @throws IOException              when the files cannot be written, the delete is finished later from the journal
+     * @throws IllegalArgumentException when there is no user with the uuid
+     */
+    public static synchronized void deleteUser(String userUUID) throws IOException {
+        recover();
+        if (!new UserDataHandler().getIndex("userJSON").contains(userUUID)) {
+            throw new IllegalArgumentException("Object not found");
+        }
+        Map<String, Set<String>> plan = newPlan();
+        for (Project project : new ProjectDatahandler().getIndex("projectJSON").findBy("userUUID", userUUID)) {
+            add(plan, project);
+        }
+        plan.get("userJSON").add(userUUID);
+        run(plan);
+    }
+
+    /**
+     * Finishes a delete that was interrupted, if there is a journal.
+     *
+     * @throws IOException when the files cannot be written
+     */
+    public static synchronized void recover() throws IOException {
+        if (!Files.exists(journal())) {
+            return;
+        }
+        Map<String, List<String>> plan = SerializationRegistry.getMapper()
+                .readerFor(new TypeReference<LinkedHashMap<String, List<String>>>() {
+                })
+                .readValue(journal().toFile());
+        apply(plan);
+    }
+
+    /**
+     * Creates an empty plan with an entry for every file.
+     *
+     * @return the uuids to delete by the property name of their file
+     */
+    private static Map<String, Set<String>> newPlan() {
+        Map<String, Set<String>> plan = new LinkedHashMap<>();
+        for (String propertyName : HANDLERS.keySet()) {
+            plan.put(propertyName, new LinkedHashSet<>());
+        }
+        return plan;
+    }
+
+    /**
+     * Adds a project and its children to a plan.
+     *
+     * @param plan    the plan
+     * @param project the project
+     */
+    private static void add(Map<String, Set<String>> plan, Project project) {
+        plan.get("projectJSON").add(project.getProjectUUID());
+        plan.get("taskJSON").addAll(project.getTaskUUIDs());
+        plan.get("issueJSON").addAll(project.getIssueUUIDs());
+        plan.get("patchNoteJSON").addAll(project.getPatchNoteUUIDs());
+    }
+
+    /**
+     * Writes the journal of a plan and applies it.
+     *
+     * @param plan the uuids to delete by the property name of their file
+     * @throws IOException when the files cannot be written
+     */
+    private static void run(Map<String, Set<String>> plan) throws IOException {
+        Map<String, List<String>> journaled = new LinkedHashMap<>();
+        plan.forEach((propertyName, uuids) -> {
+            if (!uuids.isEmpty()) {
+                journaled.put(propertyName, new ArrayList<>(uuids));
+            }
+        });
+        if (journaled.isEmpty()) {
+            return;
+        }
+        writeJournal(journaled);
+        apply(journaled);
+    }
+
+    /**
+     * Deletes the uuids of a plan, one batch per file, and removes the journal.
+     *
+     * @param plan the uuids to delete by the property name of their file
+     * @throws IOException when the files cannot be written
+     */
+    private static void apply(Map<String, List<String>> plan) throws IOException {
+        for (Map.Entry<String, List<String>> entry : plan.entrySet()) {
+            DataHandlerGen<?> handler = HANDLERS.get(entry.getKey());
+            if (handler == null) {
+                continue;
+            }
+            try {
+                handler.deleteAllFromJson(entry.getKey(), entry.getValue());
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        Files.deleteIfExists(journal());
+    }
+
+    /**
+     * Writes the journal and forces it to the disk.
+     *
+     * @param plan the uuids to delete by the property name of their file
+     * @throws IOException when the journal cannot be written
+     */
+    private static void writeJournal(Map<String, List<String>> plan) throws IOException {
+        Path temp = Paths.get(journal() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(SerializationRegistry.getMapper().writeValueAsBytes(plan));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, journal(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets the journal file.
+     *
+     * @return the path of the journal
+     */
+    private static Path journal() {
+        return Paths.get(Config.getProperty("projectJSON") + ".cascade");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.projecttracker.data;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+import java.io.IOException;
+
+/**
+ * Finishes a cascade delete that was interrupted by a stop of the application, once, when the application starts
+ * and before the first request. It runs outside of every lock the requests take, see {@link CascadeDelete#recover()}.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@WebListener
+public class CascadeRecovery implements ServletContextListener {
+
+    /**
+     * Finishes an interrupted cascade delete, if the data is kept in the JSON-files.
+     *
+     * @param event the start of the application
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        if (Repositories.usesJpa()) {
+            return;
+        }
+        try {
+            CascadeDelete.recover();
+        } catch (IOException e) {
+            // the next cascade delete tries again
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.DataFormat;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the records of one collection (one property name like taskJSON) on disk.
+ * The records are kept in a {@link PrimaryKeyIndex} by {@link DataHandlerGen}, the storage only persists the changes.
+ * <p>
+ * Which storage is used is set with the property storageMode (json, log or partitioned),
+ * and can be set for a single collection with e.g. taskJSONStorageMode.
+ * <p>
+ * With mappedReads=true the snapshots are read through a memory mapping instead of being copied onto the heap.
+ * The mapping is kept until the file changes. Snapshots are always replaced by renaming a new file over them,
+ * so a mapping that is still read never sees a half written file.
+ * <p>
+ * The snapshots are written in the format set with storageFormat (json, smile or cbor),
+ * or for a single collection with e.g. taskJSONFormat. When reading, the format is detected from the file,
+ * so a collection can be switched to another format without converting it first, see {@link StorageFormatConverter}.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see JsonFileStorage
+ * @see LogStorage
+ * @see PartitionedStorage
+ * @since 2026-10-17
+ */
+public abstract class CollectionStorage<T> {
+    /**
+     * The name of the property that tells us which file to use
+     */
+    protected final String propertyName;
+
+    /**
+     * The class of the records
+     */
+    protected final Class<T> tClass;
+
+    /**
+     * The filters to use when writing the records
+     */
+    protected final FilterSet filterSet;
+
+    /**
+     * The format the snapshots are written in
+     */
+    protected final DataFormat format;
+
+    /**
+     * The modification times and sizes of the files after the last read or write of this storage
+     */
+    private String knownStamp;
+
+    /**
+     * If the snapshots are read through a memory mapping
+     */
+    private final boolean mappedReads = "true".equalsIgnoreCase(Config.getProperty("mappedReads"));
+
+    /**
+     * The path, file key, modification time and size of the mapped snapshot
+     */
+    private String mappedStamp;
+
+    /**
+     * The mapping of the snapshot
+     */
+    private ByteBuffer mappedSnapshot;
+
+    /**
+     * Creates a storage.
+     *
+     * @param propertyName the name of the property that tells us which file to use
+     * @param tClass       the class of the records
+     * @param filterSet    the filters to use when writing the records
+     */
+    protected CollectionStorage(String propertyName, Class<T> tClass, FilterSet filterSet) {
+        this.propertyName = propertyName;
+        this.tClass = tClass;
+        this.filterSet = filterSet;
+        this.format = DataFormat.of(getSetting(propertyName, "Format", "storageFormat"));
+    }
+
+    /**
+     * Creates the storage that is configured for a collection.
+     *
+     * @param propertyName the name of the property that tells us which file to use
+     * @param tClass       the class of the records
+     * @param filterSet    the filters to use when writing the records
+     * @param <T>          the type of the records
+     * @return the storage
+     */
+    public static <T> CollectionStorage<T> create(String propertyName, Class<T> tClass, FilterSet filterSet) {
+        String mode = getSetting(propertyName, "StorageMode", "storageMode");
+        if ("log".equalsIgnoreCase(mode)) {
+            return new LogStorage<>(propertyName, tClass, filterSet);
+        }
+        if ("partitioned".equalsIgnoreCase(mode) && PartitionedStorage.supports(propertyName)) {
+            return new PartitionedStorage<>(propertyName, tClass, filterSet);
+        }
+        return new JsonFileStorage<>(propertyName, tClass, filterSet);
+    }
+
+    /**
+     * Gets a setting of a collection, e.g. taskJSONStorageMode, or the setting for all collections if it has none.
+     *
+     * @param propertyName the name of the property of the collection
+     * @param suffix       the suffix of the setting of the collection
+     * @param property     the setting for all collections
+     * @return the value of the setting
+     */
+    static String getSetting(String propertyName, String suffix, String property) {
+        String value = Config.getProperty(propertyName + suffix);
+        return value.isEmpty() ? Config.getProperty(property) : value;
+    }
+
+    /**
+     * Reads all records.
+     *
+     * @return the records
+     * @throws IOException when the files cannot be read
+     */
+    public abstract ArrayList<T> readAll() throws IOException;
+
+    /**
+     * Finds a single record by its uuid without binding the other records.
+     *
+     * @param uuid the uuid of the record
+     * @return the record or null if there is none
+     * @throws IOException when the files cannot be read
+     */
+    public abstract T find(String uuid) throws IOException;
+
+    /**
+     * Reads the records of one partition, for storages that split a collection by project.
+     *
+     * @param partition the uuid of the project
+     * @return the records of the project, null if the storage is not partitioned
+     * @throws IOException when the files cannot be read
+     */
+    public List<T> readPartition(String partition) throws IOException {
+        return null;
+    }
+
+    /**
+     * Persists a batch of inserted, updated and deleted records and forces them to the disk.
+     * The index already contains the changes.
+     *
+     * @param changes the changes in the order they were made
+     * @param index   the index with all records
+     * @throws IOException when the files cannot be written
+     */
+    public abstract void write(List<Change<T>> changes, PrimaryKeyIndex<T> index) throws IOException;
+
+    /**
+     * Replaces all records.
+     *
+     * @param records the new records
+     * @throws IOException when the files cannot be written
+     */
+    public abstract void writeAll(List<T> records) throws IOException;
+
+    /**
+     * Gets the files of the storage.
+     *
+     * @return the files
+     */
+    protected abstract List<Path> files();
+
+    /**
+     * Checks if the files were changed by someone else since this storage last read or wrote them.
+     *
+     * @return true if the files were changed
+     */
+    public synchronized boolean wasChangedExternally() {
+        String stamp = currentStamp();
+        boolean changed = knownStamp != null && !knownStamp.equals(stamp);
+        knownStamp = stamp;
+        return changed;
+    }
+
+    /**
+     * Remembers the current version of the files, after this storage read or wrote them.
+     */
+    protected synchronized void rememberStamp() {
+        knownStamp = currentStamp();
+    }
+
+    /**
+     * Describes the current version of the files by their modification times and sizes
+     *
+     * @return the stamp of the files
+     */
+    private String currentStamp() {
+        StringBuilder stamp = new StringBuilder();
+        for (Path file : files()) {
+            try {
+                stamp.append(Files.getLastModifiedTime(file).toMillis()).append(':').append(Files.size(file));
+            } catch (IOException e) {
+                stamp.append('-');
+            }
+            stamp.append(';');
+        }
+        return stamp.toString();
+    }
+
+    /**
+     * Gets the file the property points to.
+     *
+     * @return the path of the file
+     */
+    protected Path path() {
+        return Paths.get(Config.getProperty(propertyName));
+    }
+
+    /**
+     * Reads an array of records in any of the formats.
+     *
+     * @param file the file to read
+     * @return the records
+     * @throws IOException when the file cannot be read
+     */
+    protected ArrayList<T> readSnapshot(Path file) throws IOException {
+        try (InputStream in = openSnapshot(file)) {
+            return SerializationRegistry.listReader(tClass, DataFormat.detect(in)).readValue(in);
+        }
+    }
+
+    /**
+     * Opens a snapshot for reading, through its memory mapping if mappedReads is set.
+     *
+     * @param file the file to read
+     * @return the content of the file, supports mark so the format can be detected
+     * @throws IOException when the file cannot be read
+     */
+    protected InputStream openSnapshot(Path file) throws IOException {
+        if (!mappedReads) {
+            return new BufferedInputStream(Files.newInputStream(file));
+        }
+        return new BufferedInputStream(new ByteBufferBackedInputStream(map(file)));
+    }
+
+    /**
+     * Gets the memory mapping of a snapshot. The last mapping is reused as long as the file was not replaced or changed.
+     *
+     * @param file the file to map
+     * @return a view of the mapping, with its own position
+     * @throws IOException when the file cannot be mapped
+     */
+    private synchronized ByteBuffer map(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        String stamp = file + ";" + attributes.fileKey() + ";" + attributes.lastModifiedTime().toMillis() + ";" + attributes.size();
+        if (!stamp.equals(mappedStamp)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                mappedSnapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            mappedStamp = stamp;
+        }
+        return mappedSnapshot.duplicate();
+    }
+
+    /**
+     * Finds a record in a snapshot by its uuid. The file is read token by token: only the uuid of every record
+     * is looked at, the rest of a record that doesn't match is skipped and only the match is bound.
+     * Reading stops at the match.
+     *
+     * @param file the file to read
+     * @param uuid the uuid of the record
+     * @return the record or null if there is none
+     * @throws IOException when the file cannot be read
+     */
+    protected T findInSnapshot(Path file, String uuid) throws IOException {
+        String keyField = DataHandlerGen.primaryKeyField(tClass);
+        try (InputStream in = openSnapshot(file);
+             JsonParser parser = DataFormat.detect(in).getMapper().getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                // fields in front of the uuid are kept, in case the record is the match
+                TokenBuffer record = new TokenBuffer(parser);
+                record.writeStartObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    if (!keyField.equals(parser.getCurrentName())) {
+                        record.copyCurrentStructure(parser);
+                        continue;
+                    }
+                    if (parser.nextToken() != JsonToken.VALUE_STRING || !uuid.equals(parser.getText())) {
+                        skipRestOfObject(parser);
+                        break;
+                    }
+                    record.writeFieldName(keyField);
+                    record.copyCurrentEvent(parser);
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        record.copyCurrentStructure(parser);
+                    }
+                    record.writeEndObject();
+                    return SerializationRegistry.reader(tClass).readValue(record.asParser());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Skips the remaining fields of the object the parser is in.
+     *
+     * @param parser the parser, on the value of a field
+     * @throws IOException when the file cannot be read
+     */
+    private static void skipRestOfObject(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Replaces the snapshot the property points to.
+     *
+     * @param records the records
+     * @throws IOException when the file cannot be written
+     */
+    protected void replaceSnapshot(List<T> records) throws IOException {
+        replaceSnapshot(path(), records);
+    }
+
+    /**
+     * Replaces a snapshot: the records are written to a new file that is renamed over it.
+     *
+     * @param file    the file to replace
+     * @param records the records
+     * @throws IOException when the file cannot be written
+     */
+    protected void replaceSnapshot(Path file, List<T> records) throws IOException {
+        Path temp = Paths.get(file + ".tmp");
+        writeSnapshot(temp, records);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the records as an array in the format of the storage.
+     *
+     * @param file    the file to write
+     * @param records the records
+     * @throws IOException when the file cannot be written
+     */
+    protected void writeSnapshot(Path file, List<T> records) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            SerializationRegistry.listWriter(tClass, filterSet, format)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(Channels.newOutputStream(channel), records);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * A change of one record.
+     *
+     * @param <T> the type of the record
+     */
+    public static final class Change<T> {
+        /**
+         * The uuid of the record
+         */
+        private final String uuid;
+
+        /**
+         * The new record, null if it was deleted
+         */
+        private final T record;
+
+        /**
+         * Creates a change.
+         *
+         * @param uuid   the uuid of the record
+         * @param record the new record, null if it was deleted
+         */
+        private Change(String uuid, T record) {
+            this.uuid = uuid;
+            this.record = record;
+        }
+
+        /**
+         * Creates the change for an inserted or updated record.
+         *
+         * @param uuid   the uuid of the record
+         * @param record the new record
+         * @param <T>    the type of the record
+         * @return the change
+         */
+        public static <T> Change<T> put(String uuid, T record) {
+            return new Change<>(uuid, record);
+        }
+
+        /**
+         * Creates the change for a deleted record.
+         *
+         * @param uuid the uuid of the record
+         * @param <T>  the type of the record
+         * @return the change
+         */
+        public static <T> Change<T> delete(String uuid) {
+            return new Change<>(uuid, null);
+        }
+
+        /**
+         * Gets the uuid of the record.
+         *
+         * @return the uuid
+         */
+        public String getUuid() {
+            return uuid;
+        }
+
+        /**
+         * Gets the new record.
+         *
+         * @return the record, null if it was deleted
+         */
+        public T getRecord() {
+            return record;
+        }
+
+        /**
+         * Checks if the record was deleted.
+         *
+         * @return true if the record was deleted
+         */
+        public boolean isDelete() {
+            return record == null;
+        }
+    }
+}
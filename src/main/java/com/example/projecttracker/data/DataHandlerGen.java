@@ -1,25 +1,36 @@
 package com.example.projecttracker.data;
 
-import com.example.projecttracker.Config;
-import com.example.projecttracker.util.ToJson;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.projecttracker.data.CollectionStorage.Change;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * reads and writes the data in the JSON-files
+ * Every JSON-file is read once into a {@link PrimaryKeyIndex} and only read again if it was changed by someone else.
+ * How the changes are written to disk is up to the {@link CollectionStorage} of the file.
+ * If a file has no index yet, a lookup by uuid streams through the file and only binds the match.
+ * There is no cache of single entries next to the index, the index already holds every record and is only changed
+ * by the writer of the file, so a lookup never sees an older version than the index.
+ * Every lookup hands out its own copy (see {@link RecordCopies}), so a caller can change
+ * what it read and only publishes the change with an update.
+ * Inserts, updates and deletes of concurrent callers are written in batches by the {@link GroupCommitWriter} of the file.
+ * The fields that are compared are read through a {@link FieldAccessor}, which looks them up only once.
  *
  * @param <T> the type of the data
  * @author Alyssa Heimlicher
@@ -30,12 +41,41 @@ import java.util.List;
 @Setter
 @RequiredArgsConstructor
 public class DataHandlerGen<T> {
+    /**
+     * The primary key indexes, one per property name of a JSON-file
+     */
+    private static final Map<String, PrimaryKeyIndex<?>> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * The locks that are held while an index is loaded, one per property name of a JSON-file
+     */
+    private static final Map<String, Object> INDEX_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * The storages, one per property name of a JSON-file
+     */
+    private static final Map<String, CollectionStorage<?>> STORAGES = new ConcurrentHashMap<>();
+
+    /**
+     * The writers, one per property name of a JSON-file
+     */
+    private static final Map<String, GroupCommitWriter<?>> WRITERS = new ConcurrentHashMap<>();
+
     /**
      * The class of the data
      */
     @NonNull
     private final Class<T> tClass;
 
+    /**
+     * Gets the writers of all JSON-files that were written so far
+     *
+     * @return the writers by the property name of their JSON-file
+     */
+    public static Map<String, GroupCommitWriter<?>> getWriters() {
+        return Collections.unmodifiableMap(WRITERS);
+    }
+
     /**
      * reads all the data from the JSON-file
      *
@@ -46,14 +86,50 @@ public class DataHandlerGen<T> {
      * @since 1.0
      */
     public ArrayList<T> getArrayListOutOfJSON(String propertyName) throws IOException {
-        String filePath = Config.getProperty(propertyName);
-        byte[] jsonData = Files.readAllBytes(
-                Paths.get(filePath)
-        );
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        return objectMapper.readValue(jsonData, objectMapper.getTypeFactory().constructCollectionType(ArrayList.class, tClass));
+        return getIndex(propertyName).values();
+    }
+
+    /**
+     * reads a page of the data from the JSON-file, sorted by a field (see {@link SortKeys})
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to read
+     * @param sort         the name of the field to sort by
+     * @param cursor       the cursor of the page, null for the first page
+     * @param limit        the maximum number of records of the page
+     * @return the page with the cursor of the next page
+     * @throws IOException              when the file cannot be read/is not found
+     * @throws IllegalArgumentException when the data cannot be sorted by the field or the cursor is invalid
+     */
+    public Page<T> getPage(String propertyName, String sort, String cursor, int limit) throws IOException {
+        return getIndex(propertyName).page(sort, cursor, limit);
+    }
+
+    /**
+     * searches the data of the JSON-file through its indexes (see {@link SearchKeys})
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to read
+     * @param search       the conditions the data has to meet
+     * @return the data that meets the conditions
+     * @throws IOException              when the file cannot be read/is not found
+     * @throws IllegalArgumentException when the data cannot be searched by a field of the search
+     */
+    public ArrayList<T> search(String propertyName, Search search) throws IOException {
+        return getIndex(propertyName).search(search);
+    }
+
+    /**
+     * searches the text of the data of the JSON-file, best match first (see {@link SearchKeys#textOf(Class)})
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to read
+     * @param query        the words to search for
+     * @param uuids        the uuids the data must be one of, null if any uuid is fine
+     * @param limit        the maximum number of matches
+     * @return the data with all words of the query, with its score
+     * @throws IOException              when the file cannot be read/is not found
+     * @throws IllegalArgumentException when the data has no text
+     */
+    public List<TextMatch<T>> searchText(String propertyName, String query, Set<String> uuids, int limit) throws IOException {
+        return getIndex(propertyName).searchText(query, uuids, limit);
     }
 
     /**
@@ -70,18 +146,18 @@ public class DataHandlerGen<T> {
      * @since 1.0
      */
     public T getSingleFromJsonArray(String propertyName, String fieldName, Object fieldValue) throws IOException, NoSuchFieldException, IllegalAccessException {
-        ArrayList<T> arrayList = getArrayListOutOfJSON(propertyName);
-
-
-        for (T t : arrayList) {
-            Field privateField = t.getClass().getDeclaredField(fieldName);
-            privateField.setAccessible(true);
-            if (privateField.get(t).equals(fieldValue)) {
-                return t;
-            }
+        if (fieldName.equals(getPrimaryKeyField()) && fieldValue instanceof String) {
+            // without an index only the match is bound, the file is not read into an index for a single record
+            // both hand out a record that nobody else has
+            checkFileVersion(propertyName);
+            return INDEXES.containsKey(propertyName)
+                    ? getIndex(propertyName).get((String) fieldValue)
+                    : getStorage(propertyName).find((String) fieldValue);
         }
 
-        return null;
+        List<T> arrayList = getIndex(propertyName).stored();
+        int position = indexOf(arrayList, fieldName, fieldValue);
+        return position < 0 ? null : RecordCopies.copy(arrayList.get(position));
     }
 
     /**
@@ -93,16 +169,53 @@ public class DataHandlerGen<T> {
      */
     public void insertIntoJson(T object, String propertyName) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String path = Config.getProperty(propertyName);
-            ArrayList<T> objects = getArrayListOutOfJSON(propertyName);
-            objects.add(object);
-            saveJson(propertyName, objects);
-        } catch (IOException e) {
+            String uuid = primaryKeyOf(object);
+            getWriter(propertyName).commit(index -> {
+                index.put(uuid, object);
+                return Collections.singletonList(Change.put(uuid, object));
+            });
+        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Adds many new data to the JSON-file at once. They are applied to the index together
+     * and written with one write, so an import costs one read and one write of the file.
+     * Data whose uuid is already in the file is skipped, the writer checks it while it holds the index.
+     *
+     * @param objects      the data that we want to add
+     * @param propertyName the name of the property that tells us which JSON-file to write in
+     * @return the uuids that were already in the file
+     * @throws IOException            when the file cannot be read/written
+     * @throws NoSuchFieldException   when the primary key cannot be found
+     * @throws IllegalAccessException when the primary key cannot be accessed
+     */
+    public Set<String> insertAllIntoJson(List<T> objects, String propertyName) throws IOException, NoSuchFieldException, IllegalAccessException {
+        Set<String> taken = new LinkedHashSet<>();
+        if (objects.isEmpty()) {
+            return taken;
+        }
+        Map<String, T> byUuid = new LinkedHashMap<>();
+        for (T object : objects) {
+            byUuid.put(primaryKeyOf(object), object);
+        }
+        getWriter(propertyName).commit(index -> {
+            taken.clear();
+            List<Change<T>> changes = new ArrayList<>(byUuid.size());
+            for (Map.Entry<String, T> entry : byUuid.entrySet()) {
+                if (index.contains(entry.getKey())) {
+                    taken.add(entry.getKey());
+                    continue;
+                }
+                index.put(entry.getKey(), entry.getValue());
+                changes.add(Change.put(entry.getKey(), entry.getValue()));
+            }
+            return changes;
+        });
+        return taken;
+    }
+
     /**
      * Deletes a specific data from the JSON-file
      *
@@ -115,12 +228,45 @@ public class DataHandlerGen<T> {
      * @author Alyssa Heimlicher
      */
     public void deleteSingleFromJson(String propertyName, String fieldName, Object fieldValue) throws IOException, NoSuchFieldException, IllegalAccessException {
-        ArrayList<T> objects = getArrayListOutOfJSON(propertyName);
-        T object = getSingleFromJsonArray(propertyName, fieldName, fieldValue);
-        if (!objects.remove(object)) {
-            throw new IllegalArgumentException("Object not found");
+        String[] uuid = new String[1];
+        getWriter(propertyName).commit(index -> {
+            uuid[0] = findPrimaryKey(index, fieldName, fieldValue);
+            if (uuid[0] == null) {
+                throw new IllegalArgumentException("Object not found");
+            }
+            index.remove(uuid[0]);
+            return Collections.singletonList(Change.delete(uuid[0]));
+        });
+    }
+
+    /**
+     * Deletes many data from the JSON-file with one write. Uuids that are not in the file are skipped,
+     * so deleting the same uuids again does nothing.
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to write in
+     * @param uuids        the uuids of the data that we want to delete
+     * @return the number of deleted data
+     * @throws IOException            when the file cannot be read/written
+     * @throws NoSuchFieldException   when the primary key cannot be found
+     * @throws IllegalAccessException when the primary key cannot be accessed
+     */
+    public int deleteAllFromJson(String propertyName, Collection<String> uuids) throws IOException, NoSuchFieldException, IllegalAccessException {
+        if (uuids.isEmpty()) {
+            return 0;
         }
-        saveJson(propertyName, objects);
+        int[] deleted = new int[1];
+        getWriter(propertyName).commit(index -> {
+            List<Change<T>> changes = new ArrayList<>(uuids.size());
+            for (String uuid : uuids) {
+                if (index.contains(uuid)) {
+                    index.remove(uuid);
+                    changes.add(Change.delete(uuid));
+                }
+            }
+            deleted[0] = changes.size();
+            return changes;
+        });
+        return deleted[0];
     }
 
     /**
@@ -136,17 +282,50 @@ public class DataHandlerGen<T> {
      * @author Alyssa Heimlicher
      */
     public void updateSingleFromJson(String propertyName, String fieldName, Object fieldValue, T object) throws IOException, NoSuchFieldException, IllegalAccessException {
-        ArrayList<T> objects = getArrayListOutOfJSON(propertyName);
-        T oldObject = getSingleFromJsonArray(propertyName, fieldName, fieldValue);
-        if (!objects.remove(oldObject)) {
-            throw new IllegalArgumentException("Object not found");
+        String uuid = primaryKeyOf(object);
+        String[] oldUUID = new String[1];
+        getWriter(propertyName).commit(index -> {
+            oldUUID[0] = findPrimaryKey(index, fieldName, fieldValue);
+            if (oldUUID[0] == null) {
+                throw new IllegalArgumentException("Object not found");
+            }
+            index.remove(oldUUID[0]);
+            index.put(uuid, object);
+            if (oldUUID[0].equals(uuid)) {
+                return Collections.singletonList(Change.put(uuid, object));
+            }
+            return Arrays.asList(Change.delete(oldUUID[0]), Change.put(uuid, object));
+        });
+    }
+
+    /**
+     * Writes data again without changing it, so its storage can put it where it belongs now,
+     * e.g. a {@link PartitionedStorage} moves it into the segment of its project. Uuids that are not in the file are skipped.
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to write in
+     * @param uuids        the uuids of the data
+     * @throws IOException            when the file cannot be read/written
+     * @throws NoSuchFieldException   when the primary key cannot be found
+     * @throws IllegalAccessException when the primary key cannot be accessed
+     */
+    void rewrite(String propertyName, Collection<String> uuids) throws IOException, NoSuchFieldException, IllegalAccessException {
+        if (uuids.isEmpty()) {
+            return;
         }
-        objects.add(object);
-        saveJson(propertyName, objects);
+        getWriter(propertyName).commit(index -> {
+            List<Change<T>> changes = new ArrayList<>(uuids.size());
+            for (String uuid : uuids) {
+                T t = index.getStored(uuid);
+                if (t != null) {
+                    changes.add(Change.put(uuid, t));
+                }
+            }
+            return changes;
+        });
     }
 
     /**
-     * Saves the data in the JSON-file
+     * Saves the data in the JSON-file. The index of the file is dropped, since the data may differ from them.
      *
      * @param propertyName the name of the property that tells us which JSON-file to write in
      * @param objects      the data that we want to save
@@ -154,19 +333,236 @@ public class DataHandlerGen<T> {
      */
     public void saveJson(String propertyName, List<T> objects) {
         try {
-            String path = Config.getProperty(propertyName);
-            ToJson.toJson(path, objects, getFilterProvider());
+            getWriter(propertyName).writeAll(objects);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * returns the filter provider for the JSON-file
+     * Gets the writer of a JSON-file, which writes the changes of concurrent callers in batches
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to write in
+     * @return the writer of the JSON-file
+     */
+    @SuppressWarnings("unchecked")
+    private GroupCommitWriter<T> getWriter(String propertyName) {
+        return (GroupCommitWriter<T>) WRITERS.computeIfAbsent(propertyName,
+                p -> new GroupCommitWriter<>(p, getStorage(p), this::getIndex));
+    }
+
+    /**
+     * Gets the storage of a JSON-file
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to use
+     * @return the storage of the JSON-file
+     */
+    @SuppressWarnings("unchecked")
+    private CollectionStorage<T> getStorage(String propertyName) {
+        return (CollectionStorage<T>) STORAGES.computeIfAbsent(propertyName,
+                p -> CollectionStorage.create(p, tClass, getFilterSet()));
+    }
+
+    /**
+     * Drops the index of a JSON-file, so it is filled from the file again.
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to drop
+     */
+    static void dropIndex(String propertyName) {
+        INDEXES.remove(propertyName);
+        Revisions.changedAll(propertyName);
+    }
+
+    /**
+     * Gets the name of the field that holds the uuid of the data, e.g. taskUUID for tasks
+     *
+     * @return the name of the primary key field
+     */
+    protected String getPrimaryKeyField() {
+        return primaryKeyField(tClass);
+    }
+
+    /**
+     * Gets the name of the field that holds the uuid of a class, e.g. taskUUID for tasks
+     *
+     * @param tClass the class of the data
+     * @return the name of the primary key field
+     */
+    static String primaryKeyField(Class<?> tClass) {
+        String name = tClass.getSimpleName();
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1) + "UUID";
+    }
+
+    /**
+     * Gets the primary key index of a JSON-file. The file is only read if it has no index yet
+     * or was changed by someone else since it was read.
+     *
+     * @param propertyName the name of the property that tells us which JSON-file is indexed
+     * @return the index of the JSON-file
+     * @throws IOException when the file cannot be read/is not found
+     */
+    @SuppressWarnings("unchecked")
+    PrimaryKeyIndex<T> getIndex(String propertyName) throws IOException {
+        checkFileVersion(propertyName);
+        PrimaryKeyIndex<T> index = (PrimaryKeyIndex<T>) INDEXES.get(propertyName);
+        if (index != null) {
+            return index;
+        }
+
+        // one lock per file, loading one file may need the index of another one (e.g. the projects)
+        synchronized (INDEX_LOCKS.computeIfAbsent(propertyName, p -> new Object())) {
+            index = (PrimaryKeyIndex<T>) INDEXES.get(propertyName);
+            if (index == null) {
+                Map<String, T> records = new LinkedHashMap<>();
+                try (UserIdentityMap users = UserIdentityMap.open()) {
+                    for (T t : getStorage(propertyName).readAll()) {
+                        records.put(primaryKeyOf(tClass, t), t);
+                    }
+                }
+                index = new PrimaryKeyIndex<>(records, getSecondaryKeys(), SortKeys.of(tClass), SearchKeys.textOf(tClass));
+                getListKeys().forEach(index::addIndex);
+                INDEXES.put(propertyName, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Gets the records of one project, if the JSON-file has no index yet and is stored partitioned by project.
+     * Only the segment of the project is read then.
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to read
+     * @param projectUUID  the uuid of the project
+     * @return the records of the project or null if the index has to be used
+     * @throws IOException when the file cannot be read/is not found
+     * @see PartitionedStorage
+     */
+    List<T> getPartition(String propertyName, String projectUUID) throws IOException {
+        checkFileVersion(propertyName);
+        if (INDEXES.containsKey(propertyName)) {
+            return null;
+        }
+        return getStorage(propertyName).readPartition(projectUUID);
+    }
+
+    /**
+     * Checks if a JSON-file is stored partitioned by project.
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to use
+     * @return true if the file uses a {@link PartitionedStorage}
+     */
+    boolean isPartitioned(String propertyName) {
+        return getStorage(propertyName) instanceof PartitionedStorage;
+    }
+
+    /**
+     * Drops the index of a JSON-file if the file was changed by someone else
+     *
+     * @param propertyName the name of the property that tells us which JSON-file to check
+     */
+    void checkFileVersion(String propertyName) {
+        if (getStorage(propertyName).wasChangedExternally()) {
+            dropIndex(propertyName);
+        }
+    }
+
+    /**
+     * Gets the uuid of an object
+     *
+     * @param object the object
+     * @return the value of the primary key field
+     * @throws NoSuchFieldException   when the field cannot be found
+     * @throws IllegalAccessException when the field cannot be accessed
+     */
+    private String primaryKeyOf(T object) throws NoSuchFieldException, IllegalAccessException {
+        return (String) FieldAccessor.of(object.getClass(), getPrimaryKeyField()).get(object);
+    }
+
+    /**
+     * Gets the uuid of an object, for places that cannot throw the reflection exceptions
+     *
+     * @param tClass the class of the object
+     * @param object the object
+     * @param <T>    the type of the object
+     * @return the value of the primary key field
+     */
+    static <T> String primaryKeyOf(Class<T> tClass, T object) {
+        try {
+            return (String) FieldAccessor.of(tClass, primaryKeyField(tClass)).get(object);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(tClass.getSimpleName() + " has no readable " + primaryKeyField(tClass), e);
+        }
+    }
+
+    /**
+     * Finds the uuid of the record with the given value in a field. Lookups by the primary key don't scan the records.
+     *
+     * @param index      the index of the records
+     * @param fieldName  the name of the field to compare
+     * @param fieldValue the value to look for
+     * @return the uuid of the record or null if there is none
+     * @throws NoSuchFieldException   when the field cannot be found
+     * @throws IllegalAccessException when the field cannot be accessed
+     */
+    private String findPrimaryKey(PrimaryKeyIndex<T> index, String fieldName, Object fieldValue) throws NoSuchFieldException, IllegalAccessException {
+        if (fieldName.equals(getPrimaryKeyField())) {
+            return fieldValue instanceof String && index.contains((String) fieldValue) ? (String) fieldValue : null;
+        }
+        List<T> objects = index.stored();
+        int position = indexOf(objects, fieldName, fieldValue);
+        return position < 0 ? null : primaryKeyOf(objects.get(position));
+    }
+
+    /**
+     * Finds the position of the first object with the given value in a field
+     *
+     * @param objects    the objects to search
+     * @param fieldName  the name of the field to compare
+     * @param fieldValue the value to look for
+     * @return the position of the object or -1 if there is none
+     * @throws NoSuchFieldException   when the field cannot be found
+     * @throws IllegalAccessException when the field cannot be accessed
+     */
+    private int indexOf(List<T> objects, String fieldName, Object fieldValue) throws NoSuchFieldException, IllegalAccessException {
+        FieldAccessor field = null;
+        for (int i = 0; i < objects.size(); i++) {
+            T t = objects.get(i);
+            if (field == null) {
+                field = FieldAccessor.of(t.getClass(), fieldName);
+            }
+            if (field.get(t).equals(fieldValue)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * returns the filters for the JSON-file
+     *
+     * @return {@link FilterSet#NONE} unless overridden
+     */
+    protected FilterSet getFilterSet() {
+        return FilterSet.NONE;
+    }
+
+    /**
+     * returns the secondary indexes of the JSON-file, they are kept up to date with the primary key index
+     *
+     * @return the functions that get the keys of the secondary indexes by the name of the index, the {@link SearchKeys} unless overridden
+     * @see PrimaryKeyIndex#findBy(String, String)
+     */
+    protected Map<String, Function<T, String>> getSecondaryKeys() {
+        return SearchKeys.of(tClass);
+    }
+
+    /**
+     * returns the secondary indexes of fields with many values, they are kept up to date with the primary key index
      *
-     * @return null unless overridden
+     * @return the functions that get the keys of the secondary indexes by the name of the index, none unless overridden
+     * @see PrimaryKeyIndex#addIndex(String, Function)
      */
-    protected FilterProvider getFilterProvider() {
-        return null;
+    protected Map<String, Function<T, List<String>>> getListKeys() {
+        return Collections.emptyMap();
     }
 }
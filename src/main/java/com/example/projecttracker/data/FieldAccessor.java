@@ -0,0 +1,82 @@
+package com.example.projecttracker.data;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads a private field of the data classes. The field is looked up once per class and name
+ * and kept as a {@link MethodHandle}, so reading it in a loop does no reflection.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see DataHandlerGen
+ * @since 2026-10-17
+ */
+public final class FieldAccessor {
+    /**
+     * The accessors of every class, by field name
+     */
+    private static final ClassValue<Map<String, FieldAccessor>> ACCESSORS = new ClassValue<Map<String, FieldAccessor>>() {
+        @Override
+        protected Map<String, FieldAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The getter of the field, typed (Object)Object
+     */
+    private final MethodHandle getter;
+
+    /**
+     * Creates an accessor.
+     *
+     * @param getter the getter of the field, typed (Object)Object
+     */
+    private FieldAccessor(MethodHandle getter) {
+        this.getter = getter;
+    }
+
+    /**
+     * Gets the accessor of a field. The first call for a class and name looks up the field.
+     *
+     * @param tClass    the class that declares the field
+     * @param fieldName the name of the field
+     * @return the accessor
+     * @throws NoSuchFieldException   when the field cannot be found
+     * @throws IllegalAccessException when the field cannot be accessed
+     */
+    public static FieldAccessor of(Class<?> tClass, String fieldName) throws NoSuchFieldException, IllegalAccessException {
+        Map<String, FieldAccessor> accessors = ACCESSORS.get(tClass);
+        FieldAccessor accessor = accessors.get(fieldName);
+        if (accessor == null) {
+            Field field = tClass.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            accessor = new FieldAccessor(getter);
+            accessors.put(fieldName, accessor);
+        }
+        return accessor;
+    }
+
+    /**
+     * Reads the field of an object.
+     *
+     * @param object the object, an instance of the class of the accessor
+     * @return the value of the field
+     */
+    public Object get(Object object) {
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.data.CollectionStorage.Change;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The single writer of one collection. Inserts, updates and deletes are queued and a background thread
+ * applies everything that arrives within commitWindowMillis (at most commitMaxBatch changes) to the index
+ * and writes it with one write of the {@link CollectionStorage}, which forces it to the disk.
+ * A caller only returns once the batch with its change is on the disk.
+ * <p>
+ * A change that fails (e.g. because the record is not found) only fails its own caller, the rest of the batch is written.
+ * What the change did to the index before it failed is rolled back.
+ * If the batch cannot be written, all its callers fail and the index is dropped, so it is read from the disk again.
+ * A caller waits at most commitTimeoutMillis for its batch.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see DataHandlerGen
+ * @since 2026-10-17
+ */
+public class GroupCommitWriter<T> {
+    /**
+     * The name of the property that tells us which file is written
+     */
+    private final String propertyName;
+
+    /**
+     * The storage that writes the batches
+     */
+    private final CollectionStorage<T> storage;
+
+    /**
+     * Gets the current index of the collection
+     */
+    private final IndexSource<T> indexSource;
+
+    /**
+     * The changes that wait for the next batch
+     */
+    private final BlockingQueue<PendingChange<T>> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * How long a batch waits for more changes after its first one, in nanoseconds
+     */
+    private final long windowNanos = TimeUnit.MILLISECONDS.toNanos(Config.getIntProperty("commitWindowMillis", 2));
+
+    /**
+     * The most changes in one batch
+     */
+    private final int maxBatch = Math.max(1, Config.getIntProperty("commitMaxBatch", 100));
+
+    /**
+     * How long a caller waits for its batch, in milliseconds
+     */
+    private final long timeoutMillis = Math.max(1, Config.getIntProperty("commitTimeoutMillis", 30000));
+
+    /**
+     * The number of batches that were written
+     */
+    private final AtomicLong batches = new AtomicLong();
+
+    /**
+     * The number of changes that were written
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * The number of batches that could not be written
+     */
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    /**
+     * The size of the last batch
+     */
+    private volatile int lastBatchSize;
+
+    /**
+     * The size of the biggest batch
+     */
+    private volatile int largestBatchSize;
+
+    /**
+     * Creates the writer and starts its thread.
+     *
+     * @param propertyName the name of the property that tells us which file is written
+     * @param storage      the storage that writes the batches
+     * @param indexSource  gets the current index of the collection
+     */
+    public GroupCommitWriter(String propertyName, CollectionStorage<T> storage, IndexSource<T> indexSource) {
+        this.propertyName = propertyName;
+        this.storage = storage;
+        this.indexSource = indexSource;
+        Thread thread = new Thread(this::run, "commit-" + propertyName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a change and waits until the batch with it is on the disk, at most commitTimeoutMillis.
+     * If the change is still queued then, it is dropped. If it is already applied, it may still be written.
+     *
+     * @param mutation the change to apply to the index
+     * @throws IOException            when the batch cannot be written or is not written in time
+     * @throws NoSuchFieldException   when the change uses a field that cannot be found
+     * @throws IllegalAccessException when the change uses a field that cannot be accessed
+     */
+    public void commit(Mutation<T> mutation) throws IOException, NoSuchFieldException, IllegalAccessException {
+        PendingChange<T> pending = new PendingChange<>(mutation);
+        queue.add(pending);
+        try {
+            pending.done.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            boolean dropped = queue.remove(pending);
+            throw new IOException("The commit to " + propertyName + " did not finish within " + timeoutMillis + " ms"
+                    + (dropped ? ", it was dropped" : ", it may still be written"), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the commit", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof NoSuchFieldException) {
+                throw (NoSuchFieldException) cause;
+            } else if (cause instanceof IllegalAccessException) {
+                throw (IllegalAccessException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Replaces all records, between two batches.
+     *
+     * @param records the new records
+     * @throws IOException when the files cannot be written
+     */
+    public synchronized void writeAll(List<T> records) throws IOException {
+        try {
+            storage.writeAll(records);
+        } finally {
+            DataHandlerGen.dropIndex(propertyName);
+        }
+    }
+
+    /**
+     * Takes the queued changes batch by batch until the thread is interrupted.
+     * A batch that fails unexpectedly fails all its callers, the next batches are still written.
+     */
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<PendingChange<T>> batch = new ArrayList<>();
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long left = deadline - System.nanoTime();
+                    PendingChange<T> next = left > 0 ? queue.poll(left, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                try {
+                    write(batch);
+                } catch (Throwable e) {
+                    failedBatches.incrementAndGet();
+                    DataHandlerGen.dropIndex(propertyName);
+                    batch.forEach(pending -> pending.done.completeExceptionally(e));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies a batch to the index, writes it and tells the callers.
+     *
+     * @param batch the queued changes
+     */
+    private synchronized void write(List<PendingChange<T>> batch) {
+        PrimaryKeyIndex<T> index;
+        try {
+            index = indexSource.getIndex(propertyName);
+        } catch (IOException | RuntimeException e) {
+            batch.forEach(pending -> pending.done.completeExceptionally(e));
+            return;
+        }
+
+        List<PendingChange<T>> applied = new ArrayList<>(batch.size());
+        List<Change<T>> written = new ArrayList<>(batch.size());
+        synchronized (index) {
+            for (PendingChange<T> pending : batch) {
+                index.beginChange();
+                try {
+                    written.addAll(pending.mutation.apply(index));
+                    index.endChange();
+                    applied.add(pending);
+                } catch (Throwable e) {
+                    index.rollbackChange();
+                    pending.done.completeExceptionally(e);
+                }
+            }
+            if (!written.isEmpty()) {
+                try {
+                    storage.write(written, index);
+                } catch (IOException | RuntimeException e) {
+                    failedBatches.incrementAndGet();
+                    DataHandlerGen.dropIndex(propertyName);
+                    applied.forEach(pending -> pending.done.completeExceptionally(e));
+                    return;
+                }
+                List<String> uuids = new ArrayList<>(written.size());
+                for (Change<T> change : written) {
+                    uuids.add(change.getUuid());
+                }
+                Revisions.changed(propertyName, uuids);
+            }
+        }
+
+        batches.incrementAndGet();
+        changes.addAndGet(applied.size());
+        lastBatchSize = applied.size();
+        if (applied.size() > largestBatchSize) {
+            largestBatchSize = applied.size();
+        }
+        applied.forEach(pending -> pending.done.complete(null));
+    }
+
+    /**
+     * Gets the number of batches that were written.
+     *
+     * @return the number of batches
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Gets the number of changes that were written.
+     *
+     * @return the number of changes
+     */
+    public long getChanges() {
+        return changes.get();
+    }
+
+    /**
+     * Gets the number of batches that could not be written.
+     *
+     * @return the number of failed batches
+     */
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * Gets the size of the last batch.
+     *
+     * @return the number of changes in the last batch
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * Gets the size of the biggest batch.
+     *
+     * @return the number of changes in the biggest batch
+     */
+    public int getLargestBatchSize() {
+        return largestBatchSize;
+    }
+
+    /**
+     * Gets the average size of the batches.
+     *
+     * @return the average number of changes per batch
+     */
+    public double getAverageBatchSize() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) changes.get() / count;
+    }
+
+    /**
+     * Gets the configured batch window.
+     *
+     * @return the window in milliseconds
+     */
+    public long getWindowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(windowNanos);
+    }
+
+    /**
+     * Gets the configured maximum batch size.
+     *
+     * @return the most changes in one batch
+     */
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    /**
+     * A change of the index, applied by the writer thread while it holds the index.
+     *
+     * @param <T> the type of the records
+     */
+    public interface Mutation<T> {
+        /**
+         * Applies the change to the index.
+         *
+         * @param index the index of the collection
+         * @return the changes to write
+         * @throws NoSuchFieldException   when a field cannot be found
+         * @throws IllegalAccessException when a field cannot be accessed
+         */
+        List<Change<T>> apply(PrimaryKeyIndex<T> index) throws NoSuchFieldException, IllegalAccessException;
+    }
+
+    /**
+     * Gets the current index of a collection.
+     *
+     * @param <T> the type of the records
+     */
+    public interface IndexSource<T> {
+        /**
+         * Gets the index.
+         *
+         * @param propertyName the name of the property that tells us which file is indexed
+         * @return the index
+         * @throws IOException when the file cannot be read
+         */
+        PrimaryKeyIndex<T> getIndex(String propertyName) throws IOException;
+    }
+
+    /**
+     * A queued change and its caller
+     *
+     * @param <T> the type of the records
+     */
+    private static final class PendingChange<T> {
+        /**
+         * The change
+         */
+        private final Mutation<T> mutation;
+
+        /**
+         * Completed once the change is on the disk
+         */
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        /**
+         * Creates a queued change.
+         *
+         * @param mutation the change
+         */
+        private PendingChange(Mutation<T> mutation) {
+            this.mutation = mutation;
+        }
+    }
+}
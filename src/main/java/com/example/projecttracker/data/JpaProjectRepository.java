@@ -0,0 +1,227 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.model.Issue;
+import com.example.projecttracker.model.PatchNote;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The repository of the projects in the database. The projects are wired with the current versions of their
+ * tasks, issues and patch notes, and a project (or a user with all their projects) is deleted together with them in one transaction.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class JpaProjectRepository extends JpaRepository<Project> implements ProjectRepository {
+    /**
+     * The tasks
+     */
+    private final JpaRepository<Task> tasks;
+
+    /**
+     * The issues
+     */
+    private final JpaRepository<Issue> issues;
+
+    /**
+     * The patch notes
+     */
+    private final JpaRepository<PatchNote> patchNotes;
+
+    /**
+     * Creates the repository.
+     *
+     * @param tasks      the tasks
+     * @param issues     the issues
+     * @param patchNotes the patch notes
+     */
+    public JpaProjectRepository(JpaRepository<Task> tasks, JpaRepository<Issue> issues, JpaRepository<PatchNote> patchNotes) {
+        super("projectJSON", Project.class, FilterSet.PROJECT_STORAGE, Project::getUserUUID);
+        this.tasks = tasks;
+        this.issues = issues;
+        this.patchNotes = patchNotes;
+    }
+
+    @Override
+    public List<Project> findAll() throws IOException {
+        return findAll(EnumSet.allOf(ProjectChild.class));
+    }
+
+    @Override
+    public List<Project> findAll(Set<ProjectChild> expand) throws IOException {
+        return join(super.findAll(), expand);
+    }
+
+    @Override
+    public Page<Project> findPage(String sort, String cursor, int limit) throws IOException {
+        return findPage(sort, cursor, limit, EnumSet.allOf(ProjectChild.class));
+    }
+
+    @Override
+    public Page<Project> findPage(String sort, String cursor, int limit, Set<ProjectChild> expand) throws IOException {
+        Page<Project> page = super.findPage(sort, cursor, limit);
+        join(page.getItems(), expand);
+        return page;
+    }
+
+    @Override
+    public Project findByUuid(String uuid) throws IOException {
+        return findByUuid(uuid, EnumSet.allOf(ProjectChild.class));
+    }
+
+    @Override
+    public Project findByUuid(String uuid, Set<ProjectChild> expand) throws IOException {
+        Project project = super.findByUuid(uuid);
+        if (project != null) {
+            join(Collections.singletonList(project), expand);
+        }
+        return project;
+    }
+
+    @Override
+    public List<Project> findByUser(String userUUID) throws IOException {
+        return findByUser(userUUID, EnumSet.allOf(ProjectChild.class));
+    }
+
+    @Override
+    public List<Project> findByUser(String userUUID, Set<ProjectChild> expand) throws IOException {
+        return join(super.findByUser(userUUID), expand);
+    }
+
+    @Override
+    public void delete(String uuid) throws IOException {
+        write(em -> {
+            StoredRecord stored = find(em, uuid);
+            if (stored == null) {
+                throw new IllegalArgumentException("Object not found");
+            }
+            Set<String> children = childrenOf(toRecord(stored));
+            if (!children.isEmpty()) {
+                em.createQuery("DELETE FROM StoredRecord r WHERE r.uuid IN :uuids")
+                        .setParameter("uuids", children)
+                        .executeUpdate();
+            }
+            em.remove(stored);
+            return null;
+        }, index -> index.remove(uuid));
+        childrenChanged();
+    }
+
+    @Override
+    public void deleteUser(String userUUID) throws IOException {
+        write(em -> {
+            StoredRecord user = em.find(StoredRecord.class, userUUID);
+            if (user == null || !"userJSON".equals(user.getCollectionName())) {
+                throw new IllegalArgumentException("Object not found");
+            }
+            Set<String> doomed = new HashSet<>();
+            for (StoredRecord stored : em.createQuery(
+                            "SELECT r FROM StoredRecord r WHERE r.collectionName = :collection AND r.ownerUUID = :owner", StoredRecord.class)
+                    .setParameter("collection", collectionName)
+                    .setParameter("owner", userUUID)
+                    .getResultList()) {
+                doomed.add(stored.getUuid());
+                doomed.addAll(childrenOf(toRecord(stored)));
+            }
+            if (!doomed.isEmpty()) {
+                em.createQuery("DELETE FROM StoredRecord r WHERE r.uuid IN :uuids")
+                        .setParameter("uuids", doomed)
+                        .executeUpdate();
+            }
+            em.remove(user);
+            return null;
+        });
+        childrenChanged();
+        Revisions.changedAll("userJSON");
+    }
+
+    /**
+     * Gives the tasks, issues and patch notes a new revision, after children were deleted with their projects.
+     */
+    private void childrenChanged() {
+        Revisions.changedAll(tasks.collectionName);
+        Revisions.changedAll(issues.collectionName);
+        Revisions.changedAll(patchNotes.collectionName);
+    }
+
+    /**
+     * Gets the uuids of the tasks, issues and patch notes of a project.
+     *
+     * @param project the project
+     * @return the uuids of the children
+     */
+    private static Set<String> childrenOf(Project project) {
+        Set<String> children = new HashSet<>(project.getTaskUUIDs());
+        children.addAll(project.getIssueUUIDs());
+        children.addAll(project.getPatchNoteUUIDs());
+        return children;
+    }
+
+    /**
+     * Replaces the stored copies of the asked for children with their current versions, with one query per kind of child.
+     *
+     * @param projects the projects to wire
+     * @param expand   the children to wire
+     * @return the projects
+     * @throws IOException when the children cannot be read
+     */
+    private List<Project> join(List<Project> projects, Set<ProjectChild> expand) throws IOException {
+        Set<String> taskUUIDs = new HashSet<>();
+        Set<String> issueUUIDs = new HashSet<>();
+        Set<String> patchNoteUUIDs = new HashSet<>();
+        for (Project project : projects) {
+            if (expand.contains(ProjectChild.TASKS)) {
+                taskUUIDs.addAll(project.getTaskUUIDs());
+            }
+            if (expand.contains(ProjectChild.ISSUES)) {
+                issueUUIDs.addAll(project.getIssueUUIDs());
+            }
+            if (expand.contains(ProjectChild.PATCH_NOTES)) {
+                patchNoteUUIDs.addAll(project.getPatchNoteUUIDs());
+            }
+        }
+        Map<String, Task> foundTasks = tasks.findByUuids(taskUUIDs);
+        Map<String, Issue> foundIssues = issues.findByUuids(issueUUIDs);
+        Map<String, PatchNote> foundPatchNotes = patchNotes.findByUuids(patchNoteUUIDs);
+        for (Project project : projects) {
+            if (expand.contains(ProjectChild.TASKS)) {
+                project.setTasks(join(project.getTaskUUIDs(), foundTasks));
+            }
+            if (expand.contains(ProjectChild.ISSUES)) {
+                project.setIssues(join(project.getIssueUUIDs(), foundIssues));
+            }
+            if (expand.contains(ProjectChild.PATCH_NOTES)) {
+                project.setPatchNotes(join(project.getPatchNoteUUIDs(), foundPatchNotes));
+            }
+        }
+        return projects;
+    }
+
+    /**
+     * Looks up the children for the given uuids. Unknown uuids are kept as null, like the JSON-files do.
+     *
+     * @param uuids    the uuids to look up
+     * @param children the found children by their uuid
+     * @param <T>      the type of the children
+     * @return the children in the order of the uuids
+     */
+    private static <T> ArrayList<T> join(List<String> uuids, Map<String, T> children) {
+        ArrayList<T> joined = new ArrayList<>(uuids.size());
+        for (String uuid : uuids) {
+            joined.add(children.get(uuid));
+        }
+        return joined;
+    }
+}
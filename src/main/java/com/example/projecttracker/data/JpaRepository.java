@@ -0,0 +1,655 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.data.Revisions.Revision;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.DataFormat;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.PersistenceException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The repository that keeps the data in an embedded database (H2) through JPA, in the persistence unit "default".
+ * Every record is a {@link StoredRecord}, found by its uuid through the primary key index.
+ * The URL of the database can be set with the property jdbcUrl.
+ * The position of a written record comes from the sequence RECORDS_WRITE_ORDER, so concurrent writes never get the same one.
+ * <p>
+ * The fields other than the uuid and the owner are only in the JSON of the records, so searches, pages sorted by them
+ * and text searches use a {@link PrimaryKeyIndex} of the collection in memory, like the JSON-files do.
+ * It is read from the database once and then kept up to date by the writes of this repository.
+ * If the collection was changed another way (e.g. children deleted with their project), it is read again.
+ * <p>
+ * The first time a collection is used and it is still empty in the database,
+ * the records of its JSON-file are imported, unless jpaImportJson=false.
+ *
+ * @param <T> the type of the data
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class JpaRepository<T> implements Repository<T> {
+    /**
+     * The factory of the persistence unit, created when it is first needed
+     */
+    private static volatile EntityManagerFactory factory;
+
+    /**
+     * The name of the collection, the same as the property of its JSON-file
+     */
+    protected final String collectionName;
+
+    /**
+     * The class of the data
+     */
+    protected final Class<T> tClass;
+
+    /**
+     * The filters to use when writing the records
+     */
+    private final FilterSet filterSet;
+
+    /**
+     * Gets the uuid of the user a record belongs to, null if the records don't belong to users
+     */
+    private final Function<T, String> ownerOf;
+
+    /**
+     * If the JSON-file was imported or does not have to be
+     */
+    private volatile boolean imported;
+
+    /**
+     * Held while the index is read or a write is applied to the database and the index
+     */
+    private final Object indexLock = new Object();
+
+    /**
+     * The records of the collection in memory, null until they are searched
+     */
+    private PrimaryKeyIndex<T> index;
+
+    /**
+     * The revision of the collection the index matches, it is read again once the collection has another one
+     */
+    private Revision indexedRevision;
+
+    /**
+     * Creates a repository.
+     *
+     * @param collectionName the name of the collection, the same as the property of its JSON-file
+     * @param tClass         the class of the data
+     * @param filterSet      the filters to use when writing the records
+     * @param ownerOf        gets the uuid of the user a record belongs to, null if the records don't belong to users
+     */
+    public JpaRepository(String collectionName, Class<T> tClass, FilterSet filterSet, Function<T, String> ownerOf) {
+        this.collectionName = collectionName;
+        this.tClass = tClass;
+        this.filterSet = filterSet;
+        this.ownerOf = ownerOf;
+    }
+
+    @Override
+    public List<T> findAll() throws IOException {
+        return read(em -> toRecords(em.createQuery(
+                        "SELECT r FROM StoredRecord r WHERE r.collectionName = :collection ORDER BY r.writeOrder", StoredRecord.class)
+                .setParameter("collection", collectionName)
+                .getResultList()));
+    }
+
+    /**
+     * Finds a page of the records. Sorted by uuid, only the records of the page are read, through the primary key.
+     * The other fields are only in the JSON of the records, they are sorted in the index in memory.
+     *
+     * @param sort   the name of the field to sort by
+     * @param cursor the cursor of the page, null for the first page
+     * @param limit  the maximum number of records of the page
+     * @return the page with the cursor of the next page
+     * @throws IOException              when the records cannot be read
+     * @throws IllegalArgumentException when the records cannot be sorted by the field or the cursor is invalid
+     */
+    @Override
+    public Page<T> findPage(String sort, String cursor, int limit) throws IOException {
+        Function<T, String> keyOf = SortKeys.of(tClass).get(sort);
+        if (keyOf == null) {
+            throw new IllegalArgumentException("Cannot sort by " + sort);
+        }
+        String[] after = Page.position(sort, cursor);
+        if ("uuid".equals(sort)) {
+            return read(em -> {
+                List<StoredRecord> stored = em.createQuery(
+                                "SELECT r FROM StoredRecord r WHERE r.collectionName = :collection AND r.uuid > :after ORDER BY r.uuid", StoredRecord.class)
+                        .setParameter("collection", collectionName)
+                        .setParameter("after", after == null ? "" : after[1])
+                        .setMaxResults(limit + 1)
+                        .getResultList();
+                String nextCursor = null;
+                if (stored.size() > limit) {
+                    stored = stored.subList(0, limit);
+                    nextCursor = Page.cursor(sort, new String[]{"", stored.get(limit - 1).getUuid()});
+                }
+                return new Page<>(toRecords(stored), nextCursor);
+            });
+        }
+        return index().page(sort, cursor, limit);
+    }
+
+    /**
+     * Finds the records that meet all conditions of a search, in the index in memory.
+     *
+     * @param search the conditions
+     * @return the records that meet the conditions
+     * @throws IOException              when the records cannot be read
+     * @throws IllegalArgumentException when the records cannot be searched by a field of the search
+     */
+    @Override
+    public List<T> search(Search search) throws IOException {
+        return index().search(search);
+    }
+
+    /**
+     * Finds the records with all words of a query in their text, in the index in memory.
+     *
+     * @param query the words to search for
+     * @param uuids the uuids the records must be one of, null if any uuid is fine
+     * @param limit the maximum number of records
+     * @return the records with their score, best first
+     * @throws IOException              when the records cannot be read
+     * @throws IllegalArgumentException when the records have no text
+     */
+    @Override
+    public List<TextMatch<T>> searchText(String query, Collection<String> uuids, int limit) throws IOException {
+        return index().searchText(query, uuids == null ? null : new HashSet<>(uuids), limit);
+    }
+
+    /**
+     * Gets the index of the collection. It is read from the database if there is none yet
+     * or the collection was changed by something other than the writes of this repository.
+     *
+     * @return the index
+     * @throws IOException when the records cannot be read
+     */
+    private PrimaryKeyIndex<T> index() throws IOException {
+        synchronized (indexLock) {
+            // the revision is taken before the read, a write during the read makes the index be read again
+            Revision revision = Revisions.of(collectionName);
+            if (index == null || indexedRevision != revision) {
+                index = new PrimaryKeyIndex<>(readRecords(), SearchKeys.of(tClass), SortKeys.of(tClass), SearchKeys.textOf(tClass));
+                indexedRevision = revision;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Reads all records of the collection.
+     *
+     * @return the records by their uuid
+     * @throws IOException when the records cannot be read
+     */
+    private Map<String, T> readRecords() throws IOException {
+        Map<String, T> records = new LinkedHashMap<>();
+        read(em -> {
+            try (UserIdentityMap users = UserIdentityMap.open()) {
+                for (StoredRecord stored : em.createQuery(
+                                "SELECT r FROM StoredRecord r WHERE r.collectionName = :collection", StoredRecord.class)
+                        .setParameter("collection", collectionName)
+                        .getResultList()) {
+                    records.put(stored.getUuid(), toRecord(stored));
+                }
+            }
+            return null;
+        });
+        return records;
+    }
+
+    @Override
+    public Revision getRevision() {
+        return Revisions.of(collectionName);
+    }
+
+    @Override
+    public Revision getRevision(String uuid) {
+        return Revisions.of(collectionName, uuid);
+    }
+
+    @Override
+    public Revision getKnownRevision(String uuid) {
+        return getRevision(uuid);
+    }
+
+    @Override
+    public T findByUuid(String uuid) throws IOException {
+        return read(em -> {
+            StoredRecord stored = find(em, uuid);
+            return stored == null ? null : toRecord(stored);
+        });
+    }
+
+    /**
+     * Finds the records with the given uuids.
+     *
+     * @param uuids the uuids of the records
+     * @return the found records by their uuid
+     * @throws IOException when the records cannot be read
+     */
+    public Map<String, T> findByUuids(Collection<String> uuids) throws IOException {
+        if (uuids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return read(em -> {
+            Map<String, T> found = new HashMap<>();
+            for (StoredRecord stored : em.createQuery(
+                            "SELECT r FROM StoredRecord r WHERE r.collectionName = :collection AND r.uuid IN :uuids", StoredRecord.class)
+                    .setParameter("collection", collectionName)
+                    .setParameter("uuids", uuids)
+                    .getResultList()) {
+                found.put(stored.getUuid(), toRecord(stored));
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public void insert(T t) throws IOException {
+        String uuid = DataHandlerGen.primaryKeyOf(tClass, t);
+        write(em -> {
+            em.persist(toStored(t, nextWriteOrders(em, 1).get(0)));
+            return null;
+        }, index -> index.put(uuid, t));
+    }
+
+    /**
+     * Adds many new records in one transaction. The taken uuids are looked up in the same transaction,
+     * only for the uuids of the records. The uuid is the primary key of all collections, so a record
+     * that is created at the same time makes the transaction fail instead of being overwritten.
+     *
+     * @param records the records, with distinct uuids
+     * @return the uuids that were already taken, their records were not added
+     * @throws IOException when the records cannot be written, then none of them are added
+     */
+    @Override
+    public Set<String> insertAll(List<T> records) throws IOException {
+        Set<String> taken = new HashSet<>();
+        if (records.isEmpty()) {
+            return taken;
+        }
+        List<T> inserted = new ArrayList<>(records.size());
+        write(em -> {
+            Map<String, T> byUuid = new LinkedHashMap<>();
+            for (T t : records) {
+                byUuid.put(DataHandlerGen.primaryKeyOf(tClass, t), t);
+            }
+            taken.addAll(em.createQuery("SELECT r.uuid FROM StoredRecord r WHERE r.uuid IN :uuids", String.class)
+                    .setParameter("uuids", byUuid.keySet())
+                    .getResultList());
+            byUuid.forEach((uuid, t) -> {
+                if (!taken.contains(uuid)) {
+                    inserted.add(t);
+                }
+            });
+            persistAll(em, inserted);
+            return null;
+        }, index -> {
+            for (T t : inserted) {
+                index.put(DataHandlerGen.primaryKeyOf(tClass, t), t);
+            }
+        });
+        return taken;
+    }
+
+    @Override
+    public void update(String uuid, T t) throws IOException {
+        write(em -> {
+            StoredRecord stored = find(em, uuid);
+            if (stored == null) {
+                throw new IllegalArgumentException("Object not found");
+            }
+            StoredRecord updated = toStored(t, nextWriteOrders(em, 1).get(0));
+            if (updated.getUuid().equals(uuid)) {
+                stored.setOwnerUUID(updated.getOwnerUUID());
+                stored.setPayload(updated.getPayload());
+                stored.setWriteOrder(updated.getWriteOrder());
+            } else {
+                em.remove(stored);
+                em.persist(updated);
+            }
+            return null;
+        }, index -> {
+            index.remove(uuid);
+            index.put(DataHandlerGen.primaryKeyOf(tClass, t), t);
+        });
+    }
+
+    @Override
+    public void delete(String uuid) throws IOException {
+        write(em -> {
+            StoredRecord stored = find(em, uuid);
+            if (stored == null) {
+                throw new IllegalArgumentException("Object not found");
+            }
+            em.remove(stored);
+            return null;
+        }, index -> index.remove(uuid));
+    }
+
+    @Override
+    public List<T> findByUser(String userUUID) throws IOException {
+        if (ownerOf == null) {
+            throw new UnsupportedOperationException(collectionName + " don't belong to users");
+        }
+        return read(em -> toRecords(em.createQuery(
+                        "SELECT r FROM StoredRecord r WHERE r.collectionName = :collection AND r.ownerUUID = :owner ORDER BY r.writeOrder", StoredRecord.class)
+                .setParameter("collection", collectionName)
+                .setParameter("owner", userUUID)
+                .getResultList()));
+    }
+
+    /**
+     * Finds the stored record of this collection with a uuid.
+     *
+     * @param em   the entity manager
+     * @param uuid the uuid of the record
+     * @return the stored record or null if there is none
+     */
+    protected StoredRecord find(EntityManager em, String uuid) {
+        StoredRecord stored = em.find(StoredRecord.class, uuid);
+        return stored == null || !collectionName.equals(stored.getCollectionName()) ? null : stored;
+    }
+
+    /**
+     * Reads a record from its JSON.
+     *
+     * @param stored the stored record
+     * @return the record
+     * @throws IOException when the JSON cannot be read
+     */
+    protected T toRecord(StoredRecord stored) throws IOException {
+        return SerializationRegistry.reader(tClass).readValue(stored.getPayload());
+    }
+
+    /**
+     * Reads records from their JSON.
+     *
+     * @param stored the stored records
+     * @return the records
+     * @throws IOException when the JSON cannot be read
+     */
+    private List<T> toRecords(List<StoredRecord> stored) throws IOException {
+        List<T> records = new ArrayList<>(stored.size());
+        try (UserIdentityMap users = UserIdentityMap.open()) {
+            for (StoredRecord record : stored) {
+                records.add(toRecord(record));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Creates the stored record of a record.
+     *
+     * @param t          the record
+     * @param writeOrder the position of the record
+     * @return the stored record
+     * @throws IOException when the record cannot be written as JSON
+     */
+    private StoredRecord toStored(T t, long writeOrder) throws IOException {
+        return new StoredRecord(
+                DataHandlerGen.primaryKeyOf(tClass, t),
+                collectionName,
+                ownerOf == null ? null : ownerOf.apply(t),
+                writeOrder,
+                SerializationRegistry.writer(tClass, filterSet).writeValueAsString(t));
+    }
+
+    /**
+     * Stores records in their order.
+     *
+     * @param em      the entity manager
+     * @param records the records
+     * @throws IOException when a record cannot be written as JSON
+     */
+    private void persistAll(EntityManager em, List<T> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<Long> writeOrders = nextWriteOrders(em, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            em.persist(toStored(records.get(i), writeOrders.get(i)));
+        }
+    }
+
+    /**
+     * Gets the next positions of written records from the sequence, with one query.
+     * A sequence hands out every number only once, also to concurrent transactions.
+     *
+     * @param em    the entity manager
+     * @param count the number of positions
+     * @return the positions in ascending order
+     */
+    private static List<Long> nextWriteOrders(EntityManager em, int count) {
+        List<?> numbers = em.createNativeQuery("SELECT NEXT VALUE FOR RECORDS_WRITE_ORDER FROM SYSTEM_RANGE(1, ?1)")
+                .setParameter(1, count)
+                .getResultList();
+        List<Long> writeOrders = new ArrayList<>(numbers.size());
+        for (Object number : numbers) {
+            writeOrders.add(((Number) number).longValue());
+        }
+        Collections.sort(writeOrders);
+        return writeOrders;
+    }
+
+    /**
+     * Creates the sequence of the positions of written records, if the database does not have it yet.
+     * It starts after the last position that is already used.
+     *
+     * @param factory the factory of the persistence unit
+     */
+    private static void createWriteOrderSequence(EntityManagerFactory factory) {
+        EntityManager em = factory.createEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            Long last = em.createQuery("SELECT MAX(r.writeOrder) FROM StoredRecord r", Long.class).getSingleResult();
+            em.createNativeQuery("CREATE SEQUENCE IF NOT EXISTS RECORDS_WRITE_ORDER START WITH " + (last == null ? 1 : last + 1))
+                    .executeUpdate();
+            transaction.commit();
+        } finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            em.close();
+        }
+    }
+
+    /**
+     * Runs a read with a new entity manager.
+     *
+     * @param work the read
+     * @param <R>  the type of the result
+     * @return the result
+     * @throws IOException when the database cannot be read
+     */
+    protected <R> R read(Work<R> work) throws IOException {
+        importJsonOnce();
+        try {
+            EntityManager em = getFactory().createEntityManager();
+            try {
+                return work.apply(em);
+            } finally {
+                em.close();
+            }
+        } catch (PersistenceException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs a write in a transaction. The transaction is rolled back if the write fails.
+     * A write gives the whole collection a new revision, see {@link Revisions}, so its index is read again.
+     *
+     * @param work the write
+     * @param <R>  the type of the result
+     * @return the result
+     * @throws IOException when the database cannot be written
+     */
+    protected <R> R write(Work<R> work) throws IOException {
+        return write(work, null);
+    }
+
+    /**
+     * Runs a write in a transaction and applies it to the index, once it is committed.
+     * The transaction is rolled back if the write fails.
+     * A write gives the whole collection a new revision, see {@link Revisions}.
+     *
+     * @param work        the write
+     * @param indexChange applies the write to the index, null to read the index again
+     * @param <R>         the type of the result
+     * @return the result
+     * @throws IOException when the database cannot be written
+     */
+    protected <R> R write(Work<R> work, Consumer<PrimaryKeyIndex<T>> indexChange) throws IOException {
+        importJsonOnce();
+        // writes are applied to the index in the order they are committed
+        synchronized (indexLock) {
+            boolean indexed = index != null && indexedRevision == Revisions.of(collectionName);
+            R result = transaction(work);
+            Revisions.changedAll(collectionName);
+            if (indexed && indexChange != null) {
+                indexChange.accept(index);
+                indexedRevision = Revisions.of(collectionName);
+            } else {
+                index = null;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Runs work in a transaction. The transaction is rolled back if the work fails.
+     *
+     * @param work the work
+     * @param <R>  the type of the result
+     * @return the result
+     * @throws IOException when the database cannot be written
+     */
+    private <R> R transaction(Work<R> work) throws IOException {
+        try {
+            EntityManager em = getFactory().createEntityManager();
+            EntityTransaction transaction = em.getTransaction();
+            try {
+                transaction.begin();
+                R result = work.apply(em);
+                transaction.commit();
+                return result;
+            } finally {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                em.close();
+            }
+        } catch (PersistenceException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Imports the records of the JSON-file if the collection is still empty in the database.
+     * It only counts as done once the import is committed, a failed import is tried again by the next call.
+     *
+     * @throws IOException when the JSON-file cannot be read or the records cannot be written
+     */
+    private void importJsonOnce() throws IOException {
+        if (imported) {
+            return;
+        }
+        synchronized (this) {
+            if (imported) {
+                return;
+            }
+            Path file = Paths.get(Config.getProperty(collectionName));
+            if ("false".equalsIgnoreCase(Config.getProperty("jpaImportJson")) || !Files.exists(file)) {
+                imported = true;
+                return;
+            }
+            List<T> records;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                records = SerializationRegistry.listReader(tClass, DataFormat.detect(in)).readValue(in);
+            }
+            transaction(em -> {
+                Long count = em.createQuery("SELECT COUNT(r) FROM StoredRecord r WHERE r.collectionName = :collection", Long.class)
+                        .setParameter("collection", collectionName)
+                        .getSingleResult();
+                if (count == 0) {
+                    persistAll(em, records);
+                }
+                return null;
+            });
+            Revisions.changedAll(collectionName);
+            imported = true;
+        }
+    }
+
+    /**
+     * Gets the factory of the persistence unit, creates it the first time.
+     *
+     * @return the factory
+     */
+    private static EntityManagerFactory getFactory() {
+        if (factory == null) {
+            synchronized (JpaRepository.class) {
+                if (factory == null) {
+                    Map<String, Object> overrides = new LinkedHashMap<>();
+                    if (!Config.getProperty("jdbcUrl").isEmpty()) {
+                        overrides.put("jakarta.persistence.jdbc.url", Config.getProperty("jdbcUrl"));
+                    }
+                    EntityManagerFactory created = Persistence.createEntityManagerFactory("default", overrides);
+                    try {
+                        createWriteOrderSequence(created);
+                    } catch (RuntimeException e) {
+                        created.close();
+                        throw e;
+                    }
+                    factory = created;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * Work that is done with an entity manager
+     *
+     * @param <R> the type of the result
+     */
+    protected interface Work<R> {
+        /**
+         * Does the work.
+         *
+         * @param em the entity manager
+         * @return the result
+         * @throws IOException when a record cannot be read or written as JSON
+         */
+        R apply(EntityManager em) throws IOException;
+    }
+}
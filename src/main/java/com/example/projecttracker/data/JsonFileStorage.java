@@ -0,0 +1,63 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stores a collection as one JSON array in one file. Every change rewrites the whole file.
+ * This is the default storage.
+ * <p>
+ * The file is replaced and its stamp remembered under the lock of the storage, the same lock
+ * {@link #wasChangedExternally()} takes, so our own write is never taken for a change by someone else.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class JsonFileStorage<T> extends CollectionStorage<T> {
+
+    /**
+     * Creates a storage.
+     *
+     * @param propertyName the name of the property that tells us which file to use
+     * @param tClass       the class of the records
+     * @param filterSet    the filters to use when writing the records
+     */
+    public JsonFileStorage(String propertyName, Class<T> tClass, FilterSet filterSet) {
+        super(propertyName, tClass, filterSet);
+    }
+
+    @Override
+    public synchronized ArrayList<T> readAll() throws IOException {
+        rememberStamp();
+        return readSnapshot(path());
+    }
+
+    @Override
+    public synchronized T find(String uuid) throws IOException {
+        rememberStamp();
+        return findInSnapshot(path(), uuid);
+    }
+
+    @Override
+    public synchronized void write(List<Change<T>> changes, PrimaryKeyIndex<T> index) throws IOException {
+        writeAll(index.stored());
+    }
+
+    @Override
+    public synchronized void writeAll(List<T> records) throws IOException {
+        replaceSnapshot(records);
+        rememberStamp();
+    }
+
+    @Override
+    protected List<Path> files() {
+        return Collections.singletonList(path());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The repository of the projects in the JSON-file. The projects are wired with their tasks, issues and patch notes
+ * and deleted together with them, like {@link ProjectDatahandler} does.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class JsonProjectRepository extends JsonRepository<Project> implements ProjectRepository {
+    /**
+     * The handler of the JSON-file
+     */
+    private final ProjectDatahandler projects;
+
+    /**
+     * Creates the repository.
+     *
+     * @param projects the handler of the JSON-file
+     */
+    public JsonProjectRepository(ProjectDatahandler projects) {
+        super(projects, "projectJSON", Project::getUserUUID);
+        this.projects = projects;
+    }
+
+    @Override
+    public List<Project> findAll() throws IOException {
+        return findAll(EnumSet.allOf(ProjectChild.class));
+    }
+
+    @Override
+    public List<Project> findAll(Set<ProjectChild> expand) throws IOException {
+        try {
+            return projects.getArrayListOutOfJSON(expand);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Page<Project> findPage(String sort, String cursor, int limit) throws IOException {
+        return findPage(sort, cursor, limit, EnumSet.allOf(ProjectChild.class));
+    }
+
+    @Override
+    public Page<Project> findPage(String sort, String cursor, int limit, Set<ProjectChild> expand) throws IOException {
+        Page<Project> page = super.findPage(sort, cursor, limit);
+        new ProjectJoinLoader().load(page.getItems(), expand);
+        return page;
+    }
+
+    @Override
+    public Project findByUuid(String uuid) throws IOException {
+        return findByUuid(uuid, EnumSet.allOf(ProjectChild.class));
+    }
+
+    @Override
+    public Project findByUuid(String uuid, Set<ProjectChild> expand) throws IOException {
+        try {
+            return projects.getSingleFromJsonArray(uuid, expand);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void delete(String uuid) throws IOException {
+        try {
+            if (projects.getSingleFromJsonArray(uuid) == null) {
+                throw new IllegalArgumentException("Object not found");
+            }
+            projects.deleteSingleFromJson(uuid);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public List<Project> findByUser(String userUUID) throws IOException {
+        return findByUser(userUUID, EnumSet.allOf(ProjectChild.class));
+    }
+
+    @Override
+    public List<Project> findByUser(String userUUID, Set<ProjectChild> expand) throws IOException {
+        try {
+            ArrayList<Project> found = projects.getArrayListOutOfJSONByUserUUID(userUUID);
+            new ProjectJoinLoader().load(found, expand);
+            return found;
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void deleteUser(String userUUID) throws IOException {
+        CascadeDelete.deleteUser(userUUID);
+    }
+}
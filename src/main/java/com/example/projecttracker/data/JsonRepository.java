@@ -0,0 +1,141 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.data.Revisions.Revision;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The repository that keeps the data in the JSON-files, through a {@link DataHandlerGen}.
+ *
+ * @param <T> the type of the data
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class JsonRepository<T> implements Repository<T> {
+    /**
+     * The handler of the JSON-file
+     */
+    private final DataHandlerGen<T> handler;
+
+    /**
+     * The name of the property that tells us which JSON-file to use
+     */
+    private final String propertyName;
+
+    /**
+     * Gets the uuid of the user a record belongs to, null if the records don't belong to users
+     */
+    private final Function<T, String> ownerOf;
+
+    /**
+     * Creates a repository.
+     *
+     * @param handler      the handler of the JSON-file
+     * @param propertyName the name of the property that tells us which JSON-file to use
+     * @param ownerOf      gets the uuid of the user a record belongs to, null if the records don't belong to users
+     */
+    public JsonRepository(DataHandlerGen<T> handler, String propertyName, Function<T, String> ownerOf) {
+        this.handler = handler;
+        this.propertyName = propertyName;
+        this.ownerOf = ownerOf;
+    }
+
+    @Override
+    public List<T> findAll() throws IOException {
+        return handler.getArrayListOutOfJSON(propertyName);
+    }
+
+    @Override
+    public Page<T> findPage(String sort, String cursor, int limit) throws IOException {
+        return handler.getPage(propertyName, sort, cursor, limit);
+    }
+
+    @Override
+    public List<T> search(Search search) throws IOException {
+        return handler.search(propertyName, search);
+    }
+
+    @Override
+    public List<TextMatch<T>> searchText(String query, Collection<String> uuids, int limit) throws IOException {
+        return handler.searchText(propertyName, query, uuids == null ? null : new HashSet<>(uuids), limit);
+    }
+
+    @Override
+    public Revision getRevision() {
+        handler.checkFileVersion(propertyName);
+        return Revisions.of(propertyName);
+    }
+
+    @Override
+    public Revision getRevision(String uuid) {
+        handler.checkFileVersion(propertyName);
+        return getKnownRevision(uuid);
+    }
+
+    @Override
+    public Revision getKnownRevision(String uuid) {
+        return Revisions.of(propertyName, uuid);
+    }
+
+    @Override
+    public T findByUuid(String uuid) throws IOException {
+        try {
+            return handler.getSingleFromJsonArray(propertyName, handler.getPrimaryKeyField(), uuid);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void insert(T t) {
+        handler.insertIntoJson(t, propertyName);
+    }
+
+    @Override
+    public Set<String> insertAll(List<T> records) throws IOException {
+        try {
+            return handler.insertAllIntoJson(records, propertyName);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void update(String uuid, T t) throws IOException {
+        try {
+            handler.updateSingleFromJson(propertyName, handler.getPrimaryKeyField(), uuid, t);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void delete(String uuid) throws IOException {
+        try {
+            handler.deleteSingleFromJson(propertyName, handler.getPrimaryKeyField(), uuid);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public List<T> findByUser(String userUUID) throws IOException {
+        if (ownerOf == null) {
+            throw new UnsupportedOperationException(propertyName + " don't belong to users");
+        }
+        List<T> records = new ArrayList<>();
+        for (T t : findAll()) {
+            if (userUUID.equals(ownerOf.apply(t))) {
+                records.add(t);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores a collection as a snapshot (the JSON-file the property points to) and an append-only log next to it
+ * (the same path with .log at the end). Every change only appends one line to the log, so a write costs the same
+ * no matter how big the collection is. A batch of changes is appended with one write. Reading replays the log over the snapshot.
+ * <p>
+ * A background thread folds the log into a new snapshot once it is bigger than logCompactionBytes.
+ * It checks every logCompactionSeconds. With logSync=true (default) every append is forced to the disk.
+ * <p>
+ * A crash can leave the last line of the log torn (without its line break). That line was never acknowledged,
+ * so it is cut off before the log is read or appended to. Any other line that cannot be read is an error.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class LogStorage<T> extends CollectionStorage<T> {
+    /**
+     * The thread that compacts the logs of all log storages
+     */
+    private static final ScheduledExecutorService COMPACTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The log is compacted once it is bigger than this
+     */
+    private final long compactionBytes = Config.getIntProperty("logCompactionBytes", 1024 * 1024);
+
+    /**
+     * If every append is forced to the disk
+     */
+    private final boolean sync = !"false".equalsIgnoreCase(Config.getProperty("logSync"));
+
+    /**
+     * Creates a storage and schedules the compaction of its log.
+     *
+     * @param propertyName the name of the property that tells us which file to use
+     * @param tClass       the class of the records
+     * @param filterSet    the filters to use when writing the records
+     */
+    public LogStorage(String propertyName, Class<T> tClass, FilterSet filterSet) {
+        super(propertyName, tClass, filterSet);
+        long seconds = Math.max(1, Config.getIntProperty("logCompactionSeconds", 60));
+        COMPACTOR.scheduleWithFixedDelay(this::compactQuietly, seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public synchronized ArrayList<T> readAll() throws IOException {
+        truncateTornLine();
+        rememberStamp();
+        return new ArrayList<>(replay().values());
+    }
+
+    @Override
+    public synchronized T find(String uuid) throws IOException {
+        truncateTornLine();
+        rememberStamp();
+        T found = findInSnapshot(path(), uuid);
+        if (!Files.exists(logPath())) {
+            return found;
+        }
+
+        ObjectMapper mapper = SerializationRegistry.getMapper();
+        try (BufferedReader reader = Files.newBufferedReader(logPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (!line.contains(uuid)) {
+                    continue;
+                }
+                JsonNode entry = readEntry(mapper, line, number);
+                if (uuid.equals(entry.get("uuid").asText())) {
+                    found = "delete".equals(entry.get("op").asText()) ? null : mapper.treeToValue(entry.get("record"), tClass);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public synchronized void write(List<Change<T>> changes, PrimaryKeyIndex<T> index) throws IOException {
+        ObjectMapper mapper = SerializationRegistry.getMapper();
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (Change<T> change : changes) {
+            String uuid = mapper.writeValueAsString(change.getUuid());
+            if (change.isDelete()) {
+                lines.write(("{\"op\":\"delete\",\"uuid\":" + uuid + "}\n").getBytes(StandardCharsets.UTF_8));
+            } else {
+                lines.write(("{\"op\":\"put\",\"uuid\":" + uuid + ",\"record\":").getBytes(StandardCharsets.UTF_8));
+                SerializationRegistry.writer(tClass, filterSet)
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writeValue(lines, change.getRecord());
+                lines.write("}\n".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        append(lines.toByteArray());
+    }
+
+    @Override
+    public synchronized void writeAll(List<T> records) throws IOException {
+        replaceSnapshot(records);
+        Files.deleteIfExists(logPath());
+        rememberStamp();
+    }
+
+    /**
+     * Folds the log into a new snapshot, if the log is big enough.
+     *
+     * @throws IOException when the files cannot be read or written
+     */
+    public synchronized void compact() throws IOException {
+        if (!Files.exists(logPath()) || Files.size(logPath()) < compactionBytes) {
+            return;
+        }
+        boolean changedExternally = wasChangedExternally();
+        writeAll(new ArrayList<>(replay().values()));
+        if (changedExternally) {
+            // the change has to be noticed by the next check of DataHandlerGen, the compaction must not hide it
+            DataHandlerGen.dropIndex(propertyName);
+        }
+    }
+
+    @Override
+    protected List<Path> files() {
+        return Arrays.asList(path(), logPath());
+    }
+
+    /**
+     * Gets the log file.
+     *
+     * @return the path of the log
+     */
+    private Path logPath() {
+        return Paths.get(path() + ".log");
+    }
+
+    /**
+     * Reads the snapshot and applies the log to it.
+     *
+     * @return the records by their uuid
+     * @throws IOException when the files cannot be read
+     */
+    private Map<String, T> replay() throws IOException {
+        Map<String, T> records = new LinkedHashMap<>();
+        for (T t : readSnapshot(path())) {
+            records.put(DataHandlerGen.primaryKeyOf(tClass, t), t);
+        }
+        if (!Files.exists(logPath())) {
+            return records;
+        }
+
+        ObjectMapper mapper = SerializationRegistry.getMapper();
+        try (BufferedReader reader = Files.newBufferedReader(logPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                JsonNode entry = readEntry(mapper, line, number);
+                String uuid = entry.get("uuid").asText();
+                if ("delete".equals(entry.get("op").asText())) {
+                    records.remove(uuid);
+                } else {
+                    records.remove(uuid);
+                    records.put(uuid, mapper.treeToValue(entry.get("record"), tClass));
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Reads a line of the log.
+     *
+     * @param mapper the mapper
+     * @param line   the line
+     * @param number the number of the line, for the error
+     * @return the entry of the line
+     * @throws IOException when the line cannot be read, the log is damaged
+     */
+    private JsonNode readEntry(ObjectMapper mapper, String line, int number) throws IOException {
+        try {
+            return mapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IOException("The log " + logPath() + " is damaged at line " + number, e);
+        }
+    }
+
+    /**
+     * Cuts off a torn last line of the log, which a crash in the middle of an append leaves behind.
+     * Only the end of the log is read. Without the cut the next append would continue the torn line
+     * and its changes could not be read.
+     *
+     * @throws IOException when the log cannot be read or truncated
+     */
+    private void truncateTornLine() throws IOException {
+        if (!Files.exists(logPath())) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(logPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long complete = 0;
+            long end = size;
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            search:
+            while (end > 0) {
+                int length = (int) Math.min(buffer.capacity(), end);
+                buffer.clear().limit(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, end - length + buffer.position()) < 0) {
+                        throw new IOException("The log " + logPath() + " was truncated while it was read");
+                    }
+                }
+                for (int i = length - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        complete = end - length + i + 1;
+                        break search;
+                    }
+                }
+                end -= length;
+            }
+            if (complete == size) {
+                return;
+            }
+            channel.truncate(complete);
+            if (sync) {
+                channel.force(false);
+            }
+        }
+        rememberStamp();
+    }
+
+    /**
+     * Appends lines to the log. A torn last line is cut off first.
+     *
+     * @param line the lines with their line breaks
+     * @throws IOException when the log cannot be written
+     */
+    private void append(byte[] line) throws IOException {
+        truncateTornLine();
+        try (FileChannel channel = FileChannel.open(logPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        }
+        rememberStamp();
+    }
+
+    /**
+     * Compacts the log and prints errors instead of throwing them, so the scheduled compaction keeps running.
+     */
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.projecttracker.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * A page of a sorted list of records and the cursor of the next page.
+ * The cursor holds the sort, the key and the uuid of the last record of the page, so the next page starts right
+ * after it even if records were added or deleted in between. Clients must not look into it.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see PrimaryKeyIndex#page(String, String, int)
+ * @since 2026-10-17
+ */
+public class Page<T> {
+    /**
+     * The records of the page
+     */
+    private final List<T> items;
+
+    /**
+     * The cursor of the next page, null if this is the last page
+     */
+    private final String nextCursor;
+
+    /**
+     * Creates a page.
+     *
+     * @param items      the records of the page
+     * @param nextCursor the cursor of the next page, null if this is the last page
+     */
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the records of the page.
+     *
+     * @return the records in their order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor of the next page.
+     *
+     * @return the cursor or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Creates the cursor of a position.
+     *
+     * @param sort  the name of the sort
+     * @param entry the key and the uuid of the last record of the page
+     * @return the cursor
+     */
+    static String cursor(String sort, String[] entry) {
+        String position = sort + '\n' + entry[0] + '\n' + entry[1];
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the position of a cursor.
+     *
+     * @param sort   the name of the sort, it has to be the one of the cursor
+     * @param cursor the cursor, null for the first page
+     * @return the key and the uuid of the last record of the page before, null for the first page
+     * @throws IllegalArgumentException when the cursor is invalid or of another sort
+     */
+    static String[] position(String sort, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        // the key may contain line breaks, the sort and the uuid don't
+        int first = position.indexOf('\n');
+        int last = position.lastIndexOf('\n');
+        if (first == last || !position.substring(0, first).equals(sort)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new String[]{position.substring(first + 1, last), position.substring(last + 1)};
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stores the tasks, issues or patch notes of every project in its own segment, so a change only rewrites the segment
+ * of its project. The segments are kept in a folder next to the file the property points to
+ * (the same path with .partitions at the end), one file per project uuid. Records that belong to no project
+ * are kept in the segment "unassigned". The segments of a batch are written in parallel.
+ * <p>
+ * The folder also holds directory.json, which maps the uuid of every record to its segment,
+ * so a single record or project can be read without reading the other segments.
+ * The segments are the truth, the directory is built again from them whenever all records are read.
+ * <p>
+ * The first time the storage is used, the records of the old file are split into segments.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class PartitionedStorage<T> extends CollectionStorage<T> {
+    /**
+     * The segment of the records that belong to no project
+     */
+    static final String UNASSIGNED = "unassigned";
+
+    /**
+     * The name of the directory file in the folder
+     */
+    private static final String DIRECTORY = "directory.json";
+
+    /**
+     * The index of the projects by the uuids of their children, by the property name of the children
+     *
+     * @see ProjectDatahandler#getListKeys()
+     */
+    private static final Map<String, String> CHILDREN = new HashMap<>();
+
+    /**
+     * The threads that write the segments of a batch
+     */
+    private static final ExecutorService SEGMENT_WRITERS = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "segment-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        CHILDREN.put("taskJSON", "taskUUIDs");
+        CHILDREN.put("issueJSON", "issueUUIDs");
+        CHILDREN.put("patchNoteJSON", "patchNoteUUIDs");
+    }
+
+    /**
+     * The segment of every record, null until the directory was read
+     */
+    private Map<String, String> segmentOf;
+
+    /**
+     * The uuids of the records of every segment
+     */
+    private Map<String, Set<String>> members;
+
+    /**
+     * Creates a storage.
+     *
+     * @param propertyName the name of the property that tells us which file to use
+     * @param tClass       the class of the records
+     * @param filterSet    the filters to use when writing the records
+     */
+    public PartitionedStorage(String propertyName, Class<T> tClass, FilterSet filterSet) {
+        super(propertyName, tClass, filterSet);
+    }
+
+    /**
+     * Checks if a collection can be partitioned by project.
+     *
+     * @param propertyName the name of the property of the collection
+     * @return true for tasks, issues and patch notes
+     */
+    static boolean supports(String propertyName) {
+        return CHILDREN.containsKey(propertyName);
+    }
+
+    @Override
+    public synchronized ArrayList<T> readAll() throws IOException {
+        if (!Files.isDirectory(folder())) {
+            return split();
+        }
+
+        ArrayList<T> records = new ArrayList<>();
+        Map<String, String> found = new LinkedHashMap<>();
+        for (String segment : segments()) {
+            for (T t : readSnapshot(segmentPath(segment))) {
+                records.add(t);
+                found.put(DataHandlerGen.primaryKeyOf(tClass, t), segment);
+            }
+        }
+        if (!found.equals(readDirectory())) {
+            writeDirectory(found);
+        }
+        useDirectory(found);
+        rememberStamp();
+        return records;
+    }
+
+    @Override
+    public synchronized T find(String uuid) throws IOException {
+        loadDirectory();
+        String segment = segmentOf.get(uuid);
+        if (segment == null || !Files.exists(segmentPath(segment))) {
+            return null;
+        }
+        return findInSnapshot(segmentPath(segment), uuid);
+    }
+
+    @Override
+    public synchronized List<T> readPartition(String partition) throws IOException {
+        loadDirectory();
+        Path segment = segmentPath(partition);
+        return Files.exists(segment) ? readSnapshot(segment) : new ArrayList<>();
+    }
+
+    @Override
+    public synchronized void write(List<Change<T>> changes, PrimaryKeyIndex<T> index) throws IOException {
+        loadDirectory();
+        PrimaryKeyIndex<Project> projects = null;
+        Set<String> touched = new LinkedHashSet<>();
+        boolean directoryChanged = false;
+        for (Change<T> change : changes) {
+            String uuid = change.getUuid();
+            String segment = segmentOf.get(uuid);
+            if (change.isDelete()) {
+                if (segment != null) {
+                    segmentOf.remove(uuid);
+                    members.get(segment).remove(uuid);
+                    touched.add(segment);
+                    directoryChanged = true;
+                }
+                continue;
+            }
+            // a record is moved once another project (or none) has it
+            if (projects == null) {
+                projects = projectIndex();
+            }
+            String owner = projectOf(projects, uuid);
+            if (!owner.equals(segment)) {
+                if (segment != null) {
+                    members.get(segment).remove(uuid);
+                    touched.add(segment);
+                }
+                segment = owner;
+                segmentOf.put(uuid, segment);
+                members.computeIfAbsent(segment, s -> new LinkedHashSet<>()).add(uuid);
+                directoryChanged = true;
+            }
+            touched.add(segment);
+        }
+
+        // the records are taken from the index here, the writer thread holds the index while the segments are written
+        Map<String, List<T>> contents = new LinkedHashMap<>();
+        for (String segment : touched) {
+            List<T> records = new ArrayList<>();
+            for (String uuid : members.getOrDefault(segment, Collections.emptySet())) {
+                T t = index.getStored(uuid);
+                if (t != null) {
+                    records.add(t);
+                }
+            }
+            contents.put(segment, records);
+        }
+        writeSegments(contents);
+        if (directoryChanged) {
+            writeDirectory(segmentOf);
+        }
+        rememberStamp();
+    }
+
+    @Override
+    public synchronized void writeAll(List<T> records) throws IOException {
+        Files.createDirectories(folder());
+        PrimaryKeyIndex<Project> projects = projectIndex();
+        Map<String, String> found = new LinkedHashMap<>();
+        Map<String, List<T>> contents = new LinkedHashMap<>();
+        for (T t : records) {
+            String uuid = DataHandlerGen.primaryKeyOf(tClass, t);
+            String segment = projectOf(projects, uuid);
+            found.put(uuid, segment);
+            contents.computeIfAbsent(segment, s -> new ArrayList<>()).add(t);
+        }
+        for (String segment : segments()) {
+            contents.putIfAbsent(segment, Collections.emptyList());
+        }
+        writeSegments(contents);
+        writeDirectory(found);
+        useDirectory(found);
+        rememberStamp();
+    }
+
+    @Override
+    protected List<Path> files() {
+        // every segment is replaced by a rename, which changes the folder
+        return Collections.singletonList(folder());
+    }
+
+    /**
+     * Splits the records of the old file into segments.
+     *
+     * @return the records
+     * @throws IOException when the files cannot be read or written
+     */
+    private ArrayList<T> split() throws IOException {
+        ArrayList<T> records = Files.exists(path()) ? readSnapshot(path()) : new ArrayList<>();
+        writeAll(records);
+        return records;
+    }
+
+    /**
+     * Writes segments in parallel. Segments without records are deleted.
+     *
+     * @param contents the records by segment
+     * @throws IOException when a segment cannot be written
+     */
+    private void writeSegments(Map<String, List<T>> contents) throws IOException {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (Map.Entry<String, List<T>> entry : contents.entrySet()) {
+            Path segment = segmentPath(entry.getKey());
+            List<T> records = entry.getValue();
+            writes.add(CompletableFuture.runAsync(() -> {
+                try {
+                    if (records.isEmpty()) {
+                        Files.deleteIfExists(segment);
+                    } else {
+                        replaceSnapshot(segment, records);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, SEGMENT_WRITERS));
+        }
+        try {
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the directory if it was not read yet. Without a folder the old file is split first.
+     *
+     * @throws IOException when the files cannot be read
+     */
+    private void loadDirectory() throws IOException {
+        if (segmentOf != null) {
+            return;
+        }
+        if (!Files.isDirectory(folder())) {
+            split();
+            return;
+        }
+        useDirectory(readDirectory());
+    }
+
+    /**
+     * Uses a directory for the lookups of this storage.
+     *
+     * @param directory the segment of every record
+     */
+    private void useDirectory(Map<String, String> directory) {
+        segmentOf = new HashMap<>(directory);
+        members = new HashMap<>();
+        for (Map.Entry<String, String> entry : directory.entrySet()) {
+            members.computeIfAbsent(entry.getValue(), s -> new LinkedHashSet<>()).add(entry.getKey());
+        }
+    }
+
+    /**
+     * Reads the directory file.
+     *
+     * @return the segment of every record, empty if there is no directory file
+     * @throws IOException when the file cannot be read
+     */
+    private Map<String, String> readDirectory() throws IOException {
+        Path file = folder().resolve(DIRECTORY);
+        if (!Files.exists(file)) {
+            return new LinkedHashMap<>();
+        }
+        ObjectReader reader = SerializationRegistry.getMapper().readerFor(new TypeReference<LinkedHashMap<String, String>>() {
+        });
+        return reader.readValue(file.toFile());
+    }
+
+    /**
+     * Writes the directory file.
+     *
+     * @param directory the segment of every record
+     * @throws IOException when the file cannot be written
+     */
+    private void writeDirectory(Map<String, String> directory) throws IOException {
+        Path file = folder().resolve(DIRECTORY);
+        Path temp = Paths.get(file + ".tmp");
+        Files.write(temp, SerializationRegistry.getMapper().writeValueAsBytes(directory));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets the index of the projects, which knows the project of every child.
+     *
+     * @return the index of the projects
+     * @throws IOException when the projects cannot be read
+     */
+    private static PrimaryKeyIndex<Project> projectIndex() throws IOException {
+        return new ProjectDatahandler().getIndex("projectJSON");
+    }
+
+    /**
+     * Finds the project of a child of this collection through the index of the projects by their children.
+     *
+     * @param projects the index of the projects
+     * @param uuid     the uuid of the child
+     * @return the uuid of the project or {@link #UNASSIGNED} if no project has the child
+     */
+    private String projectOf(PrimaryKeyIndex<Project> projects, String uuid) {
+        Set<String> owners = projects.findUuidsBy(CHILDREN.get(propertyName), uuid);
+        return owners.isEmpty() ? UNASSIGNED : owners.iterator().next();
+    }
+
+    /**
+     * Gets the names of all segments in the folder.
+     *
+     * @return the segments
+     * @throws IOException when the folder cannot be read
+     */
+    private List<String> segments() throws IOException {
+        List<String> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder(), "*.json")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.equals(DIRECTORY)) {
+                    segments.add(name.substring(0, name.length() - ".json".length()));
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Gets the folder of the segments.
+     *
+     * @return the path of the folder
+     */
+    private Path folder() {
+        return Paths.get(path() + ".partitions");
+    }
+
+    /**
+     * Gets the file of a segment.
+     *
+     * @param segment the uuid of the project or {@link #UNASSIGNED}
+     * @return the path of the segment
+     */
+    private Path segmentPath(String segment) {
+        return folder().resolve(segment + ".json");
+    }
+}
@@ -0,0 +1,437 @@
+package com.example.projecttracker.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * All records of a JSON-file mapped by their uuid, in the order of the file.
+ * Lookups, inserts, updates and deletes by uuid don't have to scan the records.
+ * Records can also be looked up by other fields, if a {@link SecondaryIndex} was created for them,
+ * and read in pages sorted by a field, if a {@link SortedIndex} was created for it.
+ * Both are used by a {@link Search}. The text of the records can be searched, if a {@link TextIndex} was created.
+ * <p>
+ * The index keeps its own copy of every record that is put in and hands out copies (see {@link RecordCopies}),
+ * so a record in the index only changes with a put and always matches its keys. The records given to the constructor
+ * are taken over, they must not be changed afterwards.
+ * <p>
+ * The methods are synchronized on the index, writers that have to read and change it in one step synchronize on it too.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see DataHandlerGen
+ * @since 2026-10-17
+ */
+public class PrimaryKeyIndex<T> {
+    /**
+     * The records by their uuid
+     */
+    private final LinkedHashMap<String, T> records;
+
+    /**
+     * The secondary indexes by their name
+     */
+    private final Map<String, SecondaryIndex<T>> secondaries = new HashMap<>();
+
+    /**
+     * The sorted indexes by the name of their sort
+     */
+    private final Map<String, SortedIndex<T>> sorts = new HashMap<>();
+
+    /**
+     * The index of the text of the records, null if the records have no text
+     */
+    private final TextIndex<T> text;
+
+    /**
+     * The records before the change that is applied at the moment, by their uuid (null if there was none),
+     * null if no change is applied
+     */
+    private Map<String, T> undo;
+
+    /**
+     * Creates an index.
+     *
+     * @param records the records by their uuid
+     */
+    public PrimaryKeyIndex(Map<String, T> records) {
+        this(records, Collections.emptyMap(), Collections.emptyMap(), null);
+    }
+
+    /**
+     * Creates an index with secondary and sorted indexes.
+     *
+     * @param records       the records by their uuid
+     * @param secondaryKeys the functions that get the keys of the secondary indexes by the name of the index
+     * @param sortKeys      the functions that get the keys of the sorted indexes by the name of the sort
+     */
+    public PrimaryKeyIndex(Map<String, T> records, Map<String, Function<T, String>> secondaryKeys, Map<String, Function<T, String>> sortKeys) {
+        this(records, secondaryKeys, sortKeys, null);
+    }
+
+    /**
+     * Creates an index with secondary and sorted indexes and an index of the text of the records.
+     *
+     * @param records       the records by their uuid
+     * @param secondaryKeys the functions that get the keys of the secondary indexes by the name of the index
+     * @param sortKeys      the functions that get the keys of the sorted indexes by the name of the sort
+     * @param textOf        gets the text of a record, null if the records have no text
+     */
+    public PrimaryKeyIndex(Map<String, T> records, Map<String, Function<T, String>> secondaryKeys, Map<String, Function<T, String>> sortKeys,
+                           Function<T, String> textOf) {
+        this.records = new LinkedHashMap<>(records);
+        secondaryKeys.forEach((name, keyOf) -> {
+            SecondaryIndex<T> secondary = SecondaryIndex.single(keyOf);
+            this.records.forEach(secondary::put);
+            secondaries.put(name, secondary);
+        });
+        sortKeys.forEach((name, keyOf) -> {
+            SortedIndex<T> sorted = new SortedIndex<>(keyOf);
+            this.records.forEach(sorted::put);
+            sorts.put(name, sorted);
+        });
+        text = textOf == null ? null : new TextIndex<>(textOf);
+        if (text != null) {
+            this.records.forEach(text::put);
+        }
+    }
+
+    /**
+     * Gets a record by its uuid.
+     *
+     * @param uuid the uuid of the record
+     * @return a copy of the record or null if there is none
+     */
+    public synchronized T get(String uuid) {
+        return RecordCopies.copy(records.get(uuid));
+    }
+
+    /**
+     * Checks if there is a record with the uuid.
+     *
+     * @param uuid the uuid of the record
+     * @return true if there is a record
+     */
+    public synchronized boolean contains(String uuid) {
+        return records.containsKey(uuid);
+    }
+
+    /**
+     * Adds a copy of a record or replaces the one with the same uuid. A replaced record keeps its position.
+     *
+     * @param uuid   the uuid of the record
+     * @param record the record, it is copied
+     * @return the replaced record or null if there was none
+     */
+    public synchronized T put(String uuid, T record) {
+        record = RecordCopies.copy(record);
+        remember(uuid);
+        return putStored(uuid, record);
+    }
+
+    /**
+     * Adds a record that is not handed out anywhere or replaces the one with the same uuid.
+     *
+     * @param uuid   the uuid of the record
+     * @param record the record, it is not copied
+     * @return the replaced record or null if there was none
+     */
+    private T putStored(String uuid, T record) {
+        for (SecondaryIndex<T> secondary : secondaries.values()) {
+            secondary.put(uuid, record);
+        }
+        for (SortedIndex<T> sorted : sorts.values()) {
+            sorted.put(uuid, record);
+        }
+        if (text != null) {
+            text.put(uuid, record);
+        }
+        return records.put(uuid, record);
+    }
+
+    /**
+     * Removes a record.
+     *
+     * @param uuid the uuid of the record
+     * @return the removed record or null if there was none
+     */
+    public synchronized T remove(String uuid) {
+        remember(uuid);
+        for (SecondaryIndex<T> secondary : secondaries.values()) {
+            secondary.remove(uuid);
+        }
+        for (SortedIndex<T> sorted : sorts.values()) {
+            sorted.remove(uuid);
+        }
+        if (text != null) {
+            text.remove(uuid);
+        }
+        return records.remove(uuid);
+    }
+
+    /**
+     * Starts a change of the index that can be rolled back, e.g. a change of a writer that may fail halfway.
+     * Until {@link #endChange()} or {@link #rollbackChange()} every record that is put or removed is remembered once.
+     */
+    synchronized void beginChange() {
+        undo = new LinkedHashMap<>();
+    }
+
+    /**
+     * Ends the change of the index and keeps it.
+     */
+    synchronized void endChange() {
+        undo = null;
+    }
+
+    /**
+     * Ends the change of the index and puts back the records that were there before it.
+     * A record that was removed and put back is moved to the end.
+     */
+    synchronized void rollbackChange() {
+        Map<String, T> before = undo;
+        undo = null;
+        if (before == null) {
+            return;
+        }
+        before.forEach((uuid, record) -> {
+            remove(uuid);
+            if (record != null) {
+                putStored(uuid, record);
+            }
+        });
+    }
+
+    /**
+     * Remembers a record before it is put or removed, if a change is applied and the record was not remembered yet.
+     *
+     * @param uuid the uuid of the record
+     */
+    private void remember(String uuid) {
+        if (undo != null && !undo.containsKey(uuid)) {
+            undo.put(uuid, records.get(uuid));
+        }
+    }
+
+    /**
+     * Gets the records with a key in a secondary index. Only the records with the key are looked at.
+     *
+     * @param indexName the name of the secondary index
+     * @param key       the key
+     * @return copies of the records in the order they got the key
+     * @throws IllegalArgumentException when there is no secondary index with the name
+     */
+    public synchronized ArrayList<T> findBy(String indexName, String key) {
+        SecondaryIndex<T> secondary = secondaries.get(indexName);
+        if (secondary == null) {
+            throw new IllegalArgumentException("No index " + indexName);
+        }
+        ArrayList<T> found = new ArrayList<>();
+        for (String uuid : secondary.get(key)) {
+            found.add(RecordCopies.copy(records.get(uuid)));
+        }
+        return found;
+    }
+
+    /**
+     * Gets the uuids of the records with a key in a secondary index, without copying the records.
+     *
+     * @param indexName the name of the secondary index
+     * @param key       the key
+     * @return the uuids in the order they got the key
+     * @throws IllegalArgumentException when there is no secondary index with the name
+     */
+    synchronized Set<String> findUuidsBy(String indexName, String key) {
+        SecondaryIndex<T> secondary = secondaries.get(indexName);
+        if (secondary == null) {
+            throw new IllegalArgumentException("No index " + indexName);
+        }
+        return new LinkedHashSet<>(secondary.get(key));
+    }
+
+    /**
+     * Adds a secondary index whose records can have many keys, e.g. the projects by the uuids of their tasks.
+     *
+     * @param indexName the name of the secondary index
+     * @param keysOf    gets the keys of a record, empty if the record has none
+     */
+    synchronized void addIndex(String indexName, Function<T, ? extends Collection<String>> keysOf) {
+        SecondaryIndex<T> secondary = new SecondaryIndex<>(keysOf);
+        records.forEach(secondary::put);
+        secondaries.put(indexName, secondary);
+    }
+
+    /**
+     * Finds the records that meet all conditions of a search. The uuids of the smallest secondary index
+     * (or of the uuids of the search, if there are fewer) are looked at first and only they are checked
+     * against the other conditions, so a search takes as long as its smallest condition, not all records.
+     * A search with only a range looks at the records in the range, in the order of the range.
+     *
+     * @param search the conditions
+     * @return copies of the records in the order of the smallest condition
+     * @throws IllegalArgumentException when there is no index for a field of the search
+     */
+    public synchronized ArrayList<T> search(Search search) {
+        List<Set<String>> conditions = new ArrayList<>();
+        search.getKeys().forEach((field, key) -> conditions.add(secondary(field).get(key)));
+        if (search.getUuids() != null) {
+            conditions.add(search.getUuids());
+        }
+        SortedIndex<T> range = null;
+        if (search.getRangeField() != null) {
+            range = sorts.get(search.getRangeField());
+            if (range == null) {
+                throw new IllegalArgumentException("Cannot search by " + search.getRangeField());
+            }
+        }
+        conditions.sort(Comparator.comparingInt(Set::size));
+
+        Collection<String> candidates;
+        if (!conditions.isEmpty()) {
+            candidates = conditions.remove(0);
+        } else if (range != null) {
+            candidates = range.between(search.getFrom(), search.getTo());
+            range = null;
+        } else {
+            candidates = records.keySet();
+        }
+        ArrayList<T> found = new ArrayList<>();
+        for (String uuid : candidates) {
+            if (matches(uuid, conditions, range, search)) {
+                T record = records.get(uuid);
+                if (record != null) {
+                    found.add(RecordCopies.copy(record));
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the records with all words of a query in their text, best first (see {@link TextIndex}).
+     *
+     * @param query the query
+     * @param uuids the uuids the records must be one of, null if any uuid is fine
+     * @param limit the maximum number of records
+     * @return copies of the records with their score, best first
+     * @throws IllegalArgumentException when the records have no text
+     */
+    public synchronized List<TextMatch<T>> searchText(String query, Set<String> uuids, int limit) {
+        if (text == null) {
+            throw new IllegalArgumentException("The text cannot be searched");
+        }
+        List<TextMatch<T>> matches = new ArrayList<>();
+        for (TextIndex.Hit hit : text.search(query, uuids, limit)) {
+            matches.add(new TextMatch<>(RecordCopies.copy(records.get(hit.getUuid())), hit.getScore()));
+        }
+        return matches;
+    }
+
+    /**
+     * Gets all records in the order of the file.
+     *
+     * @return copies of the records
+     */
+    public synchronized ArrayList<T> values() {
+        return RecordCopies.copyAll(records.values());
+    }
+
+    /**
+     * Gets the records themselves in the order of the file, for the storages that write them
+     * and the lookups that only read a few fields. They must not be changed.
+     *
+     * @return the records in a new list
+     */
+    synchronized ArrayList<T> stored() {
+        return new ArrayList<>(records.values());
+    }
+
+    /**
+     * Gets a record itself, for the storages that write it. It must not be changed.
+     *
+     * @param uuid the uuid of the record
+     * @return the record or null if there is none
+     */
+    synchronized T getStored(String uuid) {
+        return records.get(uuid);
+    }
+
+    /**
+     * Gets the number of records.
+     *
+     * @return the number of records
+     */
+    public synchronized int size() {
+        return records.size();
+    }
+
+    /**
+     * Gets a page of the records sorted by a sorted index. Only the records of the page are looked at.
+     *
+     * @param sort   the name of the sorted index
+     * @param cursor the cursor of the page, null for the first page
+     * @param limit  the maximum number of records of the page
+     * @return the page with copies of the records and the cursor of the next page
+     * @throws IllegalArgumentException when there is no sorted index with the name or the cursor is invalid
+     */
+    public synchronized Page<T> page(String sort, String cursor, int limit) {
+        SortedIndex<T> sorted = sorts.get(sort);
+        if (sorted == null) {
+            throw new IllegalArgumentException("Cannot sort by " + sort);
+        }
+        // one more than asked for, to know if there is a next page
+        List<String[]> entries = sorted.after(Page.position(sort, cursor), limit + 1);
+        String nextCursor = null;
+        if (entries.size() > limit) {
+            entries = entries.subList(0, limit);
+            nextCursor = Page.cursor(sort, entries.get(limit - 1));
+        }
+        List<T> items = new ArrayList<>(entries.size());
+        for (String[] entry : entries) {
+            items.add(RecordCopies.copy(records.get(entry[1])));
+        }
+        return new Page<>(items, nextCursor);
+    }
+
+    /**
+     * Gets a secondary index for a search.
+     *
+     * @param field the name of the field of the index
+     * @return the index
+     * @throws IllegalArgumentException when there is no secondary index for the field
+     */
+    private SecondaryIndex<T> secondary(String field) {
+        SecondaryIndex<T> secondary = secondaries.get(field);
+        if (secondary == null) {
+            throw new IllegalArgumentException("Cannot search by " + field);
+        }
+        return secondary;
+    }
+
+    /**
+     * Checks if a record meets the other conditions of a search.
+     *
+     * @param uuid       the uuid of the record
+     * @param conditions the uuids of the other conditions, smallest first
+     * @param range      the index of the range, null if it was already met
+     * @param search     the search, with the start and end of the range
+     * @return true if the record meets all conditions
+     */
+    private static boolean matches(String uuid, List<Set<String>> conditions, SortedIndex<?> range, Search search) {
+        for (Set<String> condition : conditions) {
+            if (!condition.contains(uuid)) {
+                return false;
+            }
+        }
+        return range == null || range.inRange(uuid, search.getFrom(), search.getTo());
+    }
+}
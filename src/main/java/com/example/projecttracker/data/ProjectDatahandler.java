@@ -1,16 +1,20 @@
 package com.example.projecttracker.data;
 
-import com.example.projecttracker.model.Issue;
-import com.example.projecttracker.model.PatchNote;
 import com.example.projecttracker.model.Project;
-import com.example.projecttracker.model.Task;
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.example.projecttracker.model.ProjectChild;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Utility class for handling data regarding Projects in JSON files.
@@ -45,24 +49,33 @@ public class ProjectDatahandler extends DataHandlerGen<Project> {
      * @since 2020-05-23
      */
     public Project getSingleFromJsonArray(Object fieldValue) throws IOException, NoSuchFieldException, IllegalAccessException {
+        return getSingleFromJsonArray(fieldValue, EnumSet.allOf(ProjectChild.class));
+    }
+
+    /**
+     * Gets a single project from the JSON file and only sets the children that are asked for.
+     *
+     * @param fieldValue the value of the field to search for
+     * @param expand     the children to set
+     * @return the project with the given field value or null if no project with that field value exists
+     * @throws IOException            if the file cannot be read
+     * @throws NoSuchFieldException   if the field does not exist
+     * @throws IllegalAccessException if the field cannot be accessed
+     * @see ProjectJoinLoader#load(List, Set)
+     */
+    public Project getSingleFromJsonArray(Object fieldValue, Set<ProjectChild> expand) throws IOException, NoSuchFieldException, IllegalAccessException {
         Project project = super.getSingleFromJsonArray("projectJSON", "projectUUID", fieldValue);
 
         if (project != null) {
-            TaskDataHandler taskDataHandler = new TaskDataHandler();
-            setTasks(taskDataHandler, project);
-
-            IssueDataHandler issueDataHandler = new IssueDataHandler();
-            setIssues(issueDataHandler, project);
-
-            PatchnoteDataHandler patchnoteDataHandler = new PatchnoteDataHandler();
-            setPatchNotes(patchnoteDataHandler, project);
+            new ProjectJoinLoader().load(Collections.singletonList(project), expand);
         }
 
         return project;
     }
 
     /**
-     * Returns all found Projects. Also sets the tasks, issues, and patch notes of each project.
+     * Returns all found Projects. Also sets the tasks, issues, and patch notes of each project,
+     * reading every child file only once.
      *
      * @return all found Projects
      * @throws IOException            if the file cannot be read
@@ -70,25 +83,33 @@ public class ProjectDatahandler extends DataHandlerGen<Project> {
      * @throws IllegalAccessException if the field cannot be accessed
      * @author Alyssa Heimlicher
      * @see DataHandlerGen#getArrayListOutOfJSON(String)
+     * @see ProjectJoinLoader
      * @since 2020-05-23
      */
     public ArrayList<Project> getArrayListOutOfJSON() throws IOException, NoSuchFieldException, IllegalAccessException {
-        ArrayList<Project> projects = super.getArrayListOutOfJSON("projectJSON");
+        return getArrayListOutOfJSON(EnumSet.allOf(ProjectChild.class));
+    }
 
-        TaskDataHandler taskDataHandler = new TaskDataHandler();
-        IssueDataHandler issueDataHandler = new IssueDataHandler();
-        PatchnoteDataHandler patchnoteDataHandler = new PatchnoteDataHandler();
-        for (Project project : projects) {
-            setTasks(taskDataHandler, project);
-            setIssues(issueDataHandler, project);
-            setPatchNotes(patchnoteDataHandler, project);
-        }
+    /**
+     * Returns all found Projects and only sets the children that are asked for.
+     *
+     * @param expand the children to set
+     * @return all found Projects
+     * @throws IOException            if the file cannot be read
+     * @throws NoSuchFieldException   if the field does not exist
+     * @throws IllegalAccessException if the field cannot be accessed
+     * @see ProjectJoinLoader#load(List, Set)
+     */
+    public ArrayList<Project> getArrayListOutOfJSON(Set<ProjectChild> expand) throws IOException, NoSuchFieldException, IllegalAccessException {
+        ArrayList<Project> projects = super.getArrayListOutOfJSON("projectJSON");
+        new ProjectJoinLoader().load(projects, expand);
 
         return projects;
     }
 
     /**
-     * Returns all found Projects with a specific user uuid. Also sets the tasks, issues, and patch notes of each project.
+     * Returns all found Projects with a specific user uuid. They are looked up in the index of the owners,
+     * so only the projects of the user are looked at. The children are not set, see {@link ProjectJoinLoader}.
      *
      * @param uuid the user uuid
      * @return all found Projects
@@ -100,108 +121,148 @@ public class ProjectDatahandler extends DataHandlerGen<Project> {
      * @since 2020-05-23
      */
     public ArrayList<Project> getArrayListOutOfJSONByUserUUID(String uuid) throws IOException, NoSuchFieldException, IllegalAccessException {
-        ArrayList<Project> projects = super.getArrayListOutOfJSON("projectJSON");
-        projects.removeIf(p -> !p.getUserUUID().equals(uuid));
-
-        return projects;
+        return getIndex("projectJSON").findBy("userUUID", uuid);
     }
 
     /**
-     * Deletes a single project from the JSON file
+     * Adds a new project and moves its partitioned children into its segment, see {@link PartitionedStorage}.
      *
-     * @param uuid the uuid of the project to delete
-     * @throws IOException            if the file cannot be read
-     * @throws NoSuchFieldException   if the field does not exist
-     * @throws IllegalAccessException if the file cannot be accessed
+     * @param object       the project
+     * @param propertyName the name of the property that tells us which JSON-file to write in
      */
-    public void deleteSingleFromJson(String uuid) throws IOException, NoSuchFieldException, IllegalAccessException {
-        Project project = new ProjectDatahandler().getSingleFromJsonArray(uuid);
-        ArrayList<Project> projects = new ProjectDatahandler().getArrayListOutOfJSON();
-        List<Task> tasks = project.getTasks();
-        List<Issue> issues = project.getIssues();
-        List<PatchNote> patchNotes = project.getPatchNotes();
-        for (Task task : tasks) {
-            new TaskDataHandler().deleteSingleFromJson("taskJSON", "taskUUID", task.getTaskUUID());
-        }
-        for (Issue issue : issues) {
-            new IssueDataHandler().deleteSingleFromJson("issueJSON", "issueUUID", issue.getIssueUUID());
-        }
-        for (PatchNote patchNote : patchNotes) {
-            new PatchnoteDataHandler().deleteSingleFromJson("patchNoteJSON", "patchNoteUUID", patchNote.getPatchNoteUUID());
+    @Override
+    public void insertIntoJson(Project object, String propertyName) {
+        super.insertIntoJson(object, propertyName);
+        try {
+            moveChildren(Collections.singletonList(object));
+        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+            e.printStackTrace();
         }
-        projects.remove(project);
-        project.removeAllTasks();
-        project.removeAllIssues();
-        project.removeAllPatchNotes();
-        projects.add(project);
-        new ProjectDatahandler().saveJson("projectJSON", projects);
-        super.deleteSingleFromJson("projectJSON", "projectUUID", uuid);
     }
 
     /**
-     * Utility method to set the tasks of a project.
+     * Adds many new projects at once and moves their partitioned children into their segments.
      *
-     * @param taskDataHandler The data handler to use to get the tasks
-     * @param project         The project to set the tasks of
-     * @throws IOException            if the file cannot be read
+     * @param objects      the projects
+     * @param propertyName the name of the property that tells us which JSON-file to write in
+     * @return the uuids that were already in the file
+     * @throws IOException            if the file cannot be read/written
      * @throws NoSuchFieldException   if the field does not exist
      * @throws IllegalAccessException if the field cannot be accessed
-     * @author Alyssa Heimlicher
-     * @since 2020-05-23
      */
-    private void setTasks(TaskDataHandler taskDataHandler, Project project) throws IOException, NoSuchFieldException, IllegalAccessException {
-        ArrayList<Task> tasks = new ArrayList<>();
-        for (String taskUUid : project.getTaskUUIDs()) {
-            Task task = taskDataHandler.readTaskByUUID(taskUUid);
-            tasks.add(task);
+    @Override
+    public Set<String> insertAllIntoJson(List<Project> objects, String propertyName) throws IOException, NoSuchFieldException, IllegalAccessException {
+        Set<String> taken = super.insertAllIntoJson(objects, propertyName);
+        List<Project> inserted = new ArrayList<>();
+        for (Project project : objects) {
+            if (!taken.contains(project.getProjectUUID())) {
+                inserted.add(project);
+            }
         }
-        project.setTasks(tasks);
+        moveChildren(inserted);
+        return taken;
     }
 
     /**
-     * Utility method to set the issues of a project.
+     * Updates a project and moves its partitioned children into its segment.
+     * Children that the project had before and no longer has are moved out of it.
      *
-     * @param issueDataHandler The data handler to use to get the issues
-     * @param project          The project to set the issues of
-     * @throws IOException            if the file cannot be read
+     * @param propertyName the name of the property that tells us which JSON-file to write in
+     * @param fieldName    the name of the field to search for
+     * @param fieldValue   the value of the field to search for
+     * @param object       the new project
+     * @throws IOException            if the file cannot be read/written
      * @throws NoSuchFieldException   if the field does not exist
      * @throws IllegalAccessException if the field cannot be accessed
-     * @author Alyssa Heimlicher
-     * @since 2020-05-23
      */
-    private void setIssues(IssueDataHandler issueDataHandler, Project project) throws IOException, NoSuchFieldException, IllegalAccessException {
-        ArrayList<Issue> issues = new ArrayList<>();
-        for (String issueUUID : project.getIssueUUIDs()) {
-            Issue issue = issueDataHandler.readIssueByUUID(issueUUID);
-            issues.add(issue);
-        }
-        project.setIssues(issues);
+    @Override
+    public void updateSingleFromJson(String propertyName, String fieldName, Object fieldValue, Project object) throws IOException, NoSuchFieldException, IllegalAccessException {
+        Project old = super.getSingleFromJsonArray(propertyName, fieldName, fieldValue);
+        super.updateSingleFromJson(propertyName, fieldName, fieldValue, object);
+        moveChildren(Arrays.asList(old, object));
     }
 
     /**
-     * Utility method to set the patch notes of a project.
+     * Deletes a single project from the JSON file together with its tasks, issues and patch notes.
+     * Every file is written once, see {@link CascadeDelete}.
      *
-     * @param patchnoteDataHandler The data handler to use to get the patch notes
-     * @param project              The project to set the patch notes of
+     * @param uuid the uuid of the project to delete
      * @throws IOException            if the file cannot be read
      * @throws NoSuchFieldException   if the field does not exist
-     * @throws IllegalAccessException if the field cannot be accessed
-     * @author Alyssa Heimlicher
-     * @since 2020-05-23
+     * @throws IllegalAccessException if the file cannot be accessed
      */
-    private void setPatchNotes(PatchnoteDataHandler patchnoteDataHandler, Project project) throws IOException, NoSuchFieldException, IllegalAccessException {
-        ArrayList<PatchNote> patchNotes = new ArrayList<>();
-        for (String patchnoteUUID : project.getPatchNoteUUIDs()) {
-            PatchNote patchNote = patchnoteDataHandler.readPatchNoteByUUID(patchnoteUUID);
-            patchNotes.add(patchNote);
-        }
-        project.setPatchNotes(patchNotes);
+    public void deleteSingleFromJson(String uuid) throws IOException, NoSuchFieldException, IllegalAccessException {
+        CascadeDelete.deleteProjects(Collections.singletonList(uuid));
+    }
+
+    @Override
+    protected FilterSet getFilterSet() {
+        return FilterSet.PROJECT_STORAGE;
+    }
+
+    /**
+     * The projects are indexed by the uuid of their user, the owner.
+     *
+     * @return the index userUUID
+     */
+    @Override
+    protected Map<String, Function<Project, String>> getSecondaryKeys() {
+        return Collections.singletonMap("userUUID", p -> p.getUser() == null ? null : p.getUserUUID());
     }
 
+    /**
+     * The projects are indexed by the uuids of their children, so the project of a child is found without a scan.
+     *
+     * @return the indexes taskUUIDs, issueUUIDs and patchNoteUUIDs
+     * @see PartitionedStorage
+     */
     @Override
-    protected FilterProvider getFilterProvider() {
-        return new SimpleFilterProvider()
-                .addFilter("ProjectFilter", SimpleBeanPropertyFilter.serializeAllExcept("patchNoteUUIDs", "taskUUIDs", "issueUUIDs", "user"))
-                .addFilter("UserFilter", SimpleBeanPropertyFilter.serializeAll());
+    protected Map<String, Function<Project, List<String>>> getListKeys() {
+        Map<String, Function<Project, List<String>>> keys = new LinkedHashMap<>();
+        keys.put("taskUUIDs", Project::getTaskUUIDs);
+        keys.put("issueUUIDs", Project::getIssueUUIDs);
+        keys.put("patchNoteUUIDs", Project::getPatchNoteUUIDs);
+        return keys;
+    }
+
+    /**
+     * Writes the children of projects again that are stored partitioned, so they are moved into the segment
+     * of the project that has them now. Children that are not partitioned are not touched.
+     *
+     * @param projects the projects, may contain null
+     * @throws IOException            if a file cannot be read/written
+     * @throws NoSuchFieldException   if the field does not exist
+     * @throws IllegalAccessException if the field cannot be accessed
+     */
+    private static void moveChildren(List<Project> projects) throws IOException, NoSuchFieldException, IllegalAccessException {
+        moveChildren(new TaskDataHandler(), "taskJSON", projects, Project::getTaskUUIDs);
+        moveChildren(new IssueDataHandler(), "issueJSON", projects, Project::getIssueUUIDs);
+        moveChildren(new PatchnoteDataHandler(), "patchNoteJSON", projects, Project::getPatchNoteUUIDs);
+    }
+
+    /**
+     * Writes the children of a kind of projects again, if they are stored partitioned.
+     *
+     * @param handler      the handler of the children
+     * @param propertyName the name of the property of the children
+     * @param projects     the projects, may contain null
+     * @param childrenOf   gets the uuids of the children of a project
+     * @param <T>          the type of the children
+     * @throws IOException            if the file cannot be read/written
+     * @throws NoSuchFieldException   if the field does not exist
+     * @throws IllegalAccessException if the field cannot be accessed
+     */
+    private static <T> void moveChildren(DataHandlerGen<T> handler, String propertyName, List<Project> projects,
+                                         Function<Project, List<String>> childrenOf) throws IOException, NoSuchFieldException, IllegalAccessException {
+        if (!handler.isPartitioned(propertyName)) {
+            return;
+        }
+        Set<String> uuids = new LinkedHashSet<>();
+        for (Project project : projects) {
+            if (project != null) {
+                uuids.addAll(childrenOf.apply(project));
+            }
+        }
+        handler.rewrite(propertyName, uuids);
     }
 }
@@ -0,0 +1,372 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.model.Issue;
+import com.example.projecttracker.model.PatchNote;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.model.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Wires the tasks, issues, patch notes and users into a list of projects.
+ * Every child collection is read at most once per load, no matter how many projects are wired,
+ * and the children are looked up in its {@link PrimaryKeyIndex}.
+ * The user is wired again on every load, because the projects are kept in memory and the user may have changed since.
+ * A single project with partitioned children that are not indexed yet only reads its own segments.
+ * Children that are not expanded (see {@link ProjectChild}) are not read at all.
+ * <p>
+ * The tasks, issues, patch notes and users are loaded at the same time on a pool of joinParallelism threads
+ * (virtual threads if the runtime has them), so a load takes as long as the slowest of them. With joinParallelism=1
+ * they are loaded one after another in the calling thread. The time of every stage is recorded, see {@link #getStageTimers()}.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see ProjectDatahandler
+ * @since 2026-10-17
+ */
+public class ProjectJoinLoader {
+    /**
+     * The timers of the stages of a load, by the name of the stage
+     */
+    private static final Map<String, StageTimer> STAGES = new LinkedHashMap<>();
+
+    static {
+        for (String stage : new String[]{"tasks", "issues", "patchNotes", "users", "wire", "total"}) {
+            STAGES.put(stage, new StageTimer());
+        }
+    }
+
+    /**
+     * Gets the timers of the stages of a load: tasks, issues, patchNotes and users are loaded at the same time,
+     * wire sets them into the projects and total is the whole load.
+     *
+     * @return the timers by the name of the stage
+     */
+    public static Map<String, StageTimer> getStageTimers() {
+        return Collections.unmodifiableMap(STAGES);
+    }
+
+    /**
+     * Gets the number of threads that load the children of a load at the same time.
+     *
+     * @return the parallelism, 1 if the children are loaded in the calling thread
+     */
+    public static int getParallelism() {
+        return Pool.PARALLELISM;
+    }
+
+    /**
+     * Checks if the children are loaded on virtual threads.
+     *
+     * @return true if the runtime has virtual threads and they are used
+     */
+    public static boolean usesVirtualThreads() {
+        return Pool.VIRTUAL;
+    }
+
+    /**
+     * Sets the tasks, issues, patch notes and users of all the given projects.
+     *
+     * @param projects the projects to wire
+     * @throws IOException if one of the JSON files cannot be read
+     */
+    public void load(List<Project> projects) throws IOException {
+        load(projects, EnumSet.allOf(ProjectChild.class));
+    }
+
+    /**
+     * Sets the users and the asked for children of all the given projects.
+     * The other children are not read, the projects keep them the way they are.
+     *
+     * @param projects the projects to wire
+     * @param expand   the children to set
+     * @throws IOException if one of the JSON files cannot be read
+     */
+    public void load(List<Project> projects, Set<ProjectChild> expand) throws IOException {
+        if (projects.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        TaskDataHandler taskHandler = new TaskDataHandler();
+        IssueDataHandler issueHandler = new IssueDataHandler();
+        PatchnoteDataHandler patchNoteHandler = new PatchnoteDataHandler();
+        if (Pool.EXECUTOR != null && (expand.contains(ProjectChild.TASKS) && taskHandler.isPartitioned("taskJSON")
+                || expand.contains(ProjectChild.ISSUES) && issueHandler.isPartitioned("issueJSON")
+                || expand.contains(ProjectChild.PATCH_NOTES) && patchNoteHandler.isPartitioned("patchNoteJSON"))) {
+            // partitioned children find their segments through the project index, it is loaded before the stages
+            // so they don't load it at the same time while each of them holds its own storage
+            new ProjectDatahandler().getIndex("projectJSON");
+        }
+        Future<Function<String, Task>> taskStage = expand.contains(ProjectChild.TASKS)
+                ? stage("tasks", () -> lookup(taskHandler, "taskJSON", projects, Project::getTaskUUIDs)) : null;
+        Future<Function<String, Issue>> issueStage = expand.contains(ProjectChild.ISSUES)
+                ? stage("issues", () -> lookup(issueHandler, "issueJSON", projects, Project::getIssueUUIDs)) : null;
+        Future<Function<String, PatchNote>> patchNoteStage = expand.contains(ProjectChild.PATCH_NOTES)
+                ? stage("patchNotes", () -> lookup(patchNoteHandler, "patchNoteJSON", projects, Project::getPatchNoteUUIDs)) : null;
+        Future<PrimaryKeyIndex<User>> userStage = stage("users", () -> new UserDataHandler().getIndex("userJSON"));
+        Function<String, Task> tasks = await(taskStage);
+        Function<String, Issue> issues = await(issueStage);
+        Function<String, PatchNote> patchNotes = await(patchNoteStage);
+        PrimaryKeyIndex<User> users = await(userStage);
+
+        long wire = System.nanoTime();
+        for (Project project : projects) {
+            if (tasks != null) {
+                project.setTasks(join(project.getTaskUUIDs(), tasks));
+            }
+            if (issues != null) {
+                project.setIssues(join(project.getIssueUUIDs(), issues));
+            }
+            if (patchNotes != null) {
+                project.setPatchNotes(join(project.getPatchNoteUUIDs(), patchNotes));
+            }
+            if (project.getUser() != null && users.contains(project.getUserUUID())) {
+                project.setUser(users.get(project.getUserUUID()));
+            }
+        }
+        STAGES.get("wire").record(System.nanoTime() - wire);
+        STAGES.get("total").record(System.nanoTime() - start);
+    }
+
+    /**
+     * Starts a stage of a load on the pool, or runs it right away if the pool is off.
+     *
+     * @param name the name of the stage
+     * @param work the stage
+     * @param <R>  the type of the result
+     * @return the result of the stage
+     */
+    private static <R> Future<R> stage(String name, Callable<R> work) {
+        StageTimer timer = STAGES.get(name);
+        Callable<R> timed = () -> {
+            long start = System.nanoTime();
+            try {
+                return work.call();
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+        if (Pool.EXECUTOR == null) {
+            FutureTask<R> task = new FutureTask<>(timed);
+            task.run();
+            return task;
+        }
+        return Pool.EXECUTOR.submit(timed);
+    }
+
+    /**
+     * Waits for a stage of a load.
+     *
+     * @param stage the stage, null if it was not started
+     * @param <R>   the type of the result
+     * @return the result of the stage, null if it was not started
+     * @throws IOException if the stage could not read its JSON file
+     */
+    private static <R> R await(Future<R> stage) throws IOException {
+        if (stage == null) {
+            return null;
+        }
+        try {
+            return stage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading the children of the projects", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Gets the lookup of the children of a kind. A single project whose children are stored partitioned
+     * and not indexed yet only reads its own segment, everything else uses the index.
+     * If a child of the project is not in its segment (e.g. it was written before the project had it), the index is used too.
+     *
+     * @param handler      the handler of the children
+     * @param propertyName the name of the property of the children
+     * @param projects     the projects to wire
+     * @param childrenOf   gets the uuids of the children of a project
+     * @param <T>          the type of the children
+     * @return the lookup of a child by its uuid
+     * @throws IOException if the JSON file cannot be read
+     */
+    private static <T> Function<String, T> lookup(DataHandlerGen<T> handler, String propertyName, List<Project> projects,
+                                                  Function<Project, List<String>> childrenOf) throws IOException {
+        if (projects.size() == 1) {
+            List<T> partition = handler.getPartition(propertyName, projects.get(0).getProjectUUID());
+            if (partition != null) {
+                Map<String, T> byUuid = new HashMap<>();
+                for (T t : partition) {
+                    byUuid.put(DataHandlerGen.primaryKeyOf(handler.getTClass(), t), t);
+                }
+                if (byUuid.keySet().containsAll(childrenOf.apply(projects.get(0)))) {
+                    return byUuid::get;
+                }
+            }
+        }
+        return handler.getIndex(propertyName)::get;
+    }
+
+    /**
+     * Looks up the entities for the given uuids. Unknown uuids are kept as null, like a single lookup would.
+     *
+     * @param uuids    the uuids to look up
+     * @param entities the lookup of the entities
+     * @param <T>      the type of the entities
+     * @return the entities in the order of the uuids
+     */
+    private static <T> ArrayList<T> join(List<String> uuids, Function<String, T> entities) {
+        ArrayList<T> joined = new ArrayList<>(uuids.size());
+        for (String uuid : uuids) {
+            joined.add(entities.apply(uuid));
+        }
+        return joined;
+    }
+
+    /**
+     * The time a stage of the loads took
+     */
+    public static final class StageTimer {
+        /**
+         * The number of times the stage ran
+         */
+        private final AtomicLong count = new AtomicLong();
+
+        /**
+         * The time of all runs, in nanoseconds
+         */
+        private final AtomicLong totalNanos = new AtomicLong();
+
+        /**
+         * The time of the longest run, in nanoseconds
+         */
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        /**
+         * The time of the last run, in nanoseconds
+         */
+        private volatile long lastNanos;
+
+        /**
+         * Records a run.
+         *
+         * @param nanos the time of the run, in nanoseconds
+         */
+        private void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            lastNanos = nanos;
+        }
+
+        /**
+         * Gets the number of times the stage ran.
+         *
+         * @return the number of runs
+         */
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * Gets the average time of the stage.
+         *
+         * @return the average time in milliseconds
+         */
+        public double getAverageMillis() {
+            long runs = count.get();
+            return runs == 0 ? 0 : totalNanos.get() / 1e6 / runs;
+        }
+
+        /**
+         * Gets the time of the last run.
+         *
+         * @return the time in milliseconds
+         */
+        public double getLastMillis() {
+            return lastNanos / 1e6;
+        }
+
+        /**
+         * Gets the time of the longest run.
+         *
+         * @return the time in milliseconds
+         */
+        public double getMaxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+    }
+
+    /**
+     * The pool that loads the children, created on the first load
+     */
+    private static final class Pool {
+        /**
+         * The number of threads of the pool
+         */
+        private static final int PARALLELISM = Math.max(1, Config.getIntProperty("joinParallelism", 4));
+
+        /**
+         * The factory of virtual threads, null if the runtime has none
+         */
+        private static final ThreadFactory VIRTUAL_THREADS = virtualThreads();
+
+        /**
+         * If the pool uses virtual threads
+         */
+        private static final boolean VIRTUAL = PARALLELISM > 1 && VIRTUAL_THREADS != null;
+
+        /**
+         * The pool, null if the children are loaded in the calling thread
+         */
+        private static final ExecutorService EXECUTOR = PARALLELISM > 1
+                ? Executors.newFixedThreadPool(PARALLELISM, VIRTUAL ? VIRTUAL_THREADS : runnable -> {
+                    Thread thread = new Thread(runnable, "join-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+
+        /**
+         * Gets the factory of virtual threads. It is looked up by reflection, so the code still runs on runtimes without them.
+         *
+         * @return the factory or null if the runtime has no virtual threads
+         */
+        private static ThreadFactory virtualThreads() {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.data.Revisions.Revision;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The repository of the projects. The reads of the {@link Repository} load all children of the projects,
+ * the reads here only load the children that are asked for. The other children only have their uuids.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface ProjectRepository extends Repository<Project> {
+
+    /**
+     * Finds all projects.
+     *
+     * @param expand the children to load
+     * @return the projects
+     * @throws IOException when the projects cannot be read
+     */
+    List<Project> findAll(Set<ProjectChild> expand) throws IOException;
+
+    /**
+     * Finds a page of the projects, sorted by a field (see {@link SortKeys}).
+     *
+     * @param sort   the name of the field to sort by
+     * @param cursor the cursor of the page, null for the first page
+     * @param limit  the maximum number of projects of the page
+     * @param expand the children to load
+     * @return the page with the cursor of the next page
+     * @throws IOException              when the projects cannot be read
+     * @throws IllegalArgumentException when the projects cannot be sorted by the field or the cursor is invalid
+     */
+    Page<Project> findPage(String sort, String cursor, int limit, Set<ProjectChild> expand) throws IOException;
+
+    /**
+     * Finds a project by its uuid.
+     *
+     * @param uuid   the uuid of the project
+     * @param expand the children to load
+     * @return the project or null if there is none
+     * @throws IOException when the projects cannot be read
+     */
+    Project findByUuid(String uuid, Set<ProjectChild> expand) throws IOException;
+
+    /**
+     * Finds the projects of a user.
+     *
+     * @param userUUID the uuid of the user
+     * @param expand   the children to load
+     * @return the projects of the user
+     * @throws IOException when the projects cannot be read
+     */
+    List<Project> findByUser(String userUUID, Set<ProjectChild> expand) throws IOException;
+
+    /**
+     * Gets the revision of all projects as they are sent with their users and the given children.
+     *
+     * @param expand the children that are sent
+     * @return the revision, it changes when a project, a user or one of the children changes
+     */
+    default Revision getRevision(Set<ProjectChild> expand) {
+        return getRevision().and(getChildrenRevision(expand));
+    }
+
+    /**
+     * Gets the revision of a project as it is sent with its user and the given children.
+     *
+     * @param uuid   the uuid of the project
+     * @param expand the children that are sent
+     * @return the revision, it changes when the project, a user or one of the children changes
+     */
+    default Revision getRevision(String uuid, Set<ProjectChild> expand) {
+        return getRevision(uuid).and(getChildrenRevision(expand));
+    }
+
+    /**
+     * Gets the revision of the users and of the given children, that are sent with the projects.
+     * The collections are used, the children don't have to be looked up.
+     *
+     * @param expand the children that are sent
+     * @return the revision, it changes when a user or one of the children changes
+     */
+    default Revision getChildrenRevision(Set<ProjectChild> expand) {
+        Revision revision = Repositories.users().getRevision();
+        if (expand.contains(ProjectChild.TASKS)) {
+            revision = revision.and(Repositories.tasks().getRevision());
+        }
+        if (expand.contains(ProjectChild.ISSUES)) {
+            revision = revision.and(Repositories.issues().getRevision());
+        }
+        if (expand.contains(ProjectChild.PATCH_NOTES)) {
+            revision = revision.and(Repositories.patchNotes().getRevision());
+        }
+        return revision;
+    }
+
+    /**
+     * Deletes a user with all their projects and the tasks, issues and patch notes of the projects.
+     * Either everything is deleted or, if it fails, the rest is deleted later.
+     *
+     * @param userUUID the uuid of the user
+     * @throws IOException              when the records cannot be deleted
+     * @throws IllegalArgumentException when there is no user with the uuid
+     */
+    void deleteUser(String userUUID) throws IOException;
+}
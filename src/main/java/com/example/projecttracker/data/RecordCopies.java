@@ -0,0 +1,174 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.model.Issue;
+import com.example.projecttracker.model.PatchNote;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.model.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copies the records that are kept in memory (in the {@link PrimaryKeyIndex}).
+ * The kept records are never handed out, every caller gets its own copy, so a resource can change a record and
+ * only publish it with an update. Nobody sees the changes before they are written and the indexes never hold a record
+ * whose fields don't match its keys.
+ * <p>
+ * The fields of the records are strings, dates, enums and numbers, which cannot be changed, so a copy is cheap.
+ * A project gets new lists and copies of its user and children.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class RecordCopies {
+    /**
+     * The copy functions by the class of the data
+     */
+    private static final Map<Class<?>, UnaryOperator<?>> COPIES = new HashMap<>();
+
+    static {
+        put(Task.class, RecordCopies::copyTask);
+        put(Issue.class, RecordCopies::copyIssue);
+        put(PatchNote.class, RecordCopies::copyPatchNote);
+        put(User.class, RecordCopies::copyUser);
+        put(Project.class, RecordCopies::copyProject);
+    }
+
+    /**
+     * Utility class, no instances.
+     */
+    private RecordCopies() {
+    }
+
+    /**
+     * Copies a record.
+     *
+     * @param record the record, may be null
+     * @param <T>    the type of the record
+     * @return the copy, null if the record is null
+     * @throws IllegalArgumentException when records of the class cannot be copied
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T record) {
+        if (record == null) {
+            return null;
+        }
+        UnaryOperator<T> copy = (UnaryOperator<T>) COPIES.get(record.getClass());
+        if (copy == null) {
+            throw new IllegalArgumentException(record.getClass().getSimpleName() + " cannot be copied");
+        }
+        return copy.apply(record);
+    }
+
+    /**
+     * Copies records.
+     *
+     * @param records the records
+     * @param <T>     the type of the records
+     * @return the copies in the same order
+     */
+    public static <T> ArrayList<T> copyAll(Iterable<T> records) {
+        ArrayList<T> copies = new ArrayList<>();
+        for (T record : records) {
+            copies.add(copy(record));
+        }
+        return copies;
+    }
+
+    /**
+     * Adds a copy function.
+     *
+     * @param tClass the class of the data
+     * @param copy   the copy function
+     * @param <T>    the type of the data
+     */
+    private static <T> void put(Class<T> tClass, UnaryOperator<T> copy) {
+        COPIES.put(tClass, copy);
+    }
+
+    /**
+     * Copies a task.
+     *
+     * @param task the task
+     * @return the copy
+     */
+    private static Task copyTask(Task task) {
+        return new Task(task.getTaskUUID(), task.getTitle(), task.getDescription(), task.getDeadline(), task.getTempDate(), task.getStatus());
+    }
+
+    /**
+     * Copies an issue.
+     *
+     * @param issue the issue
+     * @return the copy
+     */
+    private static Issue copyIssue(Issue issue) {
+        return new Issue(issue.getIssueUUID(), issue.getTitle(), issue.getDescription(), issue.getSeverity(), issue.getStatus());
+    }
+
+    /**
+     * Copies a patch note.
+     *
+     * @param patchNote the patch note
+     * @return the copy
+     */
+    private static PatchNote copyPatchNote(PatchNote patchNote) {
+        return new PatchNote(patchNote.getPatchNoteUUID(), patchNote.getTitle(), patchNote.getDescription(), patchNote.getDate(), patchNote.getVersion());
+    }
+
+    /**
+     * Copies a user.
+     *
+     * @param user the user
+     * @return the copy
+     */
+    private static User copyUser(User user) {
+        return new User(user.getUserUUID(), user.getUserName(), user.getPassword(), user.getUserRole());
+    }
+
+    /**
+     * Copies a project with its user and children.
+     *
+     * @param project the project
+     * @return the copy
+     */
+    private static Project copyProject(Project project) {
+        Project copy = new Project();
+        copy.setProjectUUID(project.getProjectUUID());
+        copy.setTitle(project.getTitle());
+        copy.setDescription(project.getDescription());
+        copy.setStartDate(project.getStartDate());
+        copy.setTempStartDate(project.getTempStartDate());
+        copy.setIsFinished(project.getIsFinished());
+        copy.setSubject(project.getSubject());
+        copy.setUser(copy(project.getUser()));
+        copy.setUserid(project.getUserid());
+        copy.setIssues(copyChildren(project.getIssues()));
+        copy.setTasks(copyChildren(project.getTasks()));
+        copy.setPatchNotes(copyChildren(project.getPatchNotes()));
+        return copy;
+    }
+
+    /**
+     * Copies the children of a project. Unknown children stay null, like they are read.
+     *
+     * @param children the children, may be null
+     * @param <T>      the type of the children
+     * @return the copies, null if there are no children
+     */
+    private static <T> ArrayList<T> copyChildren(List<T> children) {
+        if (children == null) {
+            return null;
+        }
+        ArrayList<T> copies = new ArrayList<>(children.size());
+        for (T child : children) {
+            copies.add(copy(child));
+        }
+        return copies;
+    }
+}
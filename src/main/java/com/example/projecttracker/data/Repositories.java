@@ -0,0 +1,139 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.model.Issue;
+import com.example.projecttracker.model.PatchNote;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.model.User;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+
+/**
+ * Gives the services the repositories of the backend that is set with the property repositoryBackend:
+ * json (default) keeps the data in the JSON-files, jpa keeps it in the embedded database.
+ * The repositories are created once, the first time one of them is needed, and are read without a lock after that.
+ * Creating them reads no data, an interrupted cascade delete is finished at the start of the application
+ * (see {@link CascadeDelete#recover()}).
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see Repository
+ * @since 2026-10-17
+ */
+public final class Repositories {
+    /**
+     * Utility class, no instances.
+     */
+    private Repositories() {
+    }
+
+    /**
+     * Gets the repository of the tasks.
+     *
+     * @return the repository
+     */
+    public static Repository<Task> tasks() {
+        return Backend.TASKS;
+    }
+
+    /**
+     * Gets the repository of the issues.
+     *
+     * @return the repository
+     */
+    public static Repository<Issue> issues() {
+        return Backend.ISSUES;
+    }
+
+    /**
+     * Gets the repository of the patch notes.
+     *
+     * @return the repository
+     */
+    public static Repository<PatchNote> patchNotes() {
+        return Backend.PATCH_NOTES;
+    }
+
+    /**
+     * Gets the repository of the users.
+     *
+     * @return the repository
+     */
+    public static Repository<User> users() {
+        return Backend.USERS;
+    }
+
+    /**
+     * Gets the repository of the projects.
+     *
+     * @return the repository
+     */
+    public static ProjectRepository projects() {
+        return Backend.PROJECTS;
+    }
+
+    /**
+     * Checks if the data is kept in the embedded database.
+     *
+     * @return true if repositoryBackend is jpa
+     */
+    public static boolean usesJpa() {
+        return "jpa".equalsIgnoreCase(Config.getProperty("repositoryBackend"));
+    }
+
+    /**
+     * The repositories of the configured backend. The JVM creates them when the class is first used
+     * and publishes them fully built, so they are read without a lock.
+     */
+    private static final class Backend {
+        /**
+         * The repository of the tasks
+         */
+        private static final Repository<Task> TASKS;
+
+        /**
+         * The repository of the issues
+         */
+        private static final Repository<Issue> ISSUES;
+
+        /**
+         * The repository of the patch notes
+         */
+        private static final Repository<PatchNote> PATCH_NOTES;
+
+        /**
+         * The repository of the users
+         */
+        private static final Repository<User> USERS;
+
+        /**
+         * The repository of the projects
+         */
+        private static final ProjectRepository PROJECTS;
+
+        static {
+            if (usesJpa()) {
+                JpaRepository<Task> jpaTasks = new JpaRepository<>("taskJSON", Task.class, FilterSet.NONE, null);
+                JpaRepository<Issue> jpaIssues = new JpaRepository<>("issueJSON", Issue.class, FilterSet.NONE, null);
+                JpaRepository<PatchNote> jpaPatchNotes = new JpaRepository<>("patchNoteJSON", PatchNote.class, FilterSet.NONE, null);
+                TASKS = jpaTasks;
+                ISSUES = jpaIssues;
+                PATCH_NOTES = jpaPatchNotes;
+                USERS = new JpaRepository<>("userJSON", User.class, FilterSet.USER, null);
+                PROJECTS = new JpaProjectRepository(jpaTasks, jpaIssues, jpaPatchNotes);
+            } else {
+                TASKS = new JsonRepository<>(new TaskDataHandler(), "taskJSON", null);
+                ISSUES = new JsonRepository<>(new IssueDataHandler(), "issueJSON", null);
+                PATCH_NOTES = new JsonRepository<>(new PatchnoteDataHandler(), "patchNoteJSON", null);
+                USERS = new JsonRepository<>(new UserDataHandler(), "userJSON", null);
+                PROJECTS = new JsonProjectRepository(new ProjectDatahandler());
+            }
+        }
+
+        /**
+         * No instances, only the repositories.
+         */
+        private Backend() {
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.data.Revisions.Revision;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The operations the services use to read and write one kind of data.
+ * Which implementation is used is set with the property repositoryBackend, see {@link Repositories}.
+ *
+ * @param <T> the type of the data
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see JsonRepository
+ * @see JpaRepository
+ * @since 2026-10-17
+ */
+public interface Repository<T> {
+
+    /**
+     * Finds all records.
+     *
+     * @return the records
+     * @throws IOException when the records cannot be read
+     */
+    List<T> findAll() throws IOException;
+
+    /**
+     * Finds a page of the records, sorted by a field (see {@link SortKeys}).
+     *
+     * @param sort   the name of the field to sort by
+     * @param cursor the cursor of the page, null for the first page
+     * @param limit  the maximum number of records of the page
+     * @return the page with the cursor of the next page
+     * @throws IOException              when the records cannot be read
+     * @throws IllegalArgumentException when the records cannot be sorted by the field or the cursor is invalid
+     */
+    Page<T> findPage(String sort, String cursor, int limit) throws IOException;
+
+    /**
+     * Finds the records that meet all conditions of a search (see {@link SearchKeys}).
+     *
+     * @param search the conditions
+     * @return the records that meet the conditions
+     * @throws IOException              when the records cannot be read
+     * @throws IllegalArgumentException when the records cannot be searched by a field of the search
+     */
+    List<T> search(Search search) throws IOException;
+
+    /**
+     * Finds the records with all words of a query in their text, best first (see {@link SearchKeys#textOf(Class)}).
+     *
+     * @param query the words to search for
+     * @param uuids the uuids the records must be one of, null if any uuid is fine
+     * @param limit the maximum number of records
+     * @return the records with their score, best first
+     * @throws IOException              when the records cannot be read
+     * @throws IllegalArgumentException when the records have no text
+     */
+    List<TextMatch<T>> searchText(String query, Collection<String> uuids, int limit) throws IOException;
+
+    /**
+     * Gets the revision of all records, it changes with every change of one of them.
+     * It is kept in memory, getting it reads no records.
+     *
+     * @return the revision
+     */
+    Revision getRevision();
+
+    /**
+     * Gets the revision of a record, it changes when the record is inserted, changed or deleted.
+     * It is kept in memory, getting it reads no records.
+     *
+     * @param uuid the uuid of the record
+     * @return the revision
+     */
+    Revision getRevision(String uuid);
+
+    /**
+     * Gets the revision of a record without checking if the data was changed by someone else first.
+     * For the records of a list, after {@link #getRevision()} was checked for the whole list.
+     *
+     * @param uuid the uuid of the record
+     * @return the revision
+     */
+    Revision getKnownRevision(String uuid);
+
+    /**
+     * Finds a record by its uuid.
+     *
+     * @param uuid the uuid of the record
+     * @return the record or null if there is none
+     * @throws IOException when the records cannot be read
+     */
+    T findByUuid(String uuid) throws IOException;
+
+    /**
+     * Adds a new record.
+     *
+     * @param t the record
+     * @throws IOException when the record cannot be written
+     */
+    void insert(T t) throws IOException;
+
+    /**
+     * Adds many new records with one write. Records whose uuid is already taken are skipped,
+     * the check is part of the write, so a record created at the same time is not overwritten.
+     *
+     * @param records the records, with distinct uuids
+     * @return the uuids that were already taken, their records were not added
+     * @throws IOException when the records cannot be written, then none of them are added
+     */
+    Set<String> insertAll(List<T> records) throws IOException;
+
+    /**
+     * Replaces a record.
+     *
+     * @param uuid the uuid of the record to replace
+     * @param t    the new record
+     * @throws IOException              when the record cannot be written
+     * @throws IllegalArgumentException when there is no record with the uuid
+     */
+    void update(String uuid, T t) throws IOException;
+
+    /**
+     * Deletes a record.
+     *
+     * @param uuid the uuid of the record
+     * @throws IOException              when the record cannot be deleted
+     * @throws IllegalArgumentException when there is no record with the uuid
+     */
+    void delete(String uuid) throws IOException;
+
+    /**
+     * Finds the records that belong to a user.
+     *
+     * @param userUUID the uuid of the user
+     * @return the records of the user
+     * @throws IOException                   when the records cannot be read
+     * @throws UnsupportedOperationException when the records don't belong to users
+     */
+    List<T> findByUser(String userUUID) throws IOException;
+}
@@ -0,0 +1,246 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the changes of every collection and of every record in it, for the ETag and Last-Modified of the responses.
+ * A revision only changes when the data changes, so a client that has the current revision gets a 304 without anything
+ * being read or written as JSON.
+ * <p>
+ * The revisions are kept in memory. They start over with every start of the application, so the tags begin
+ * with the time of the start and tags from before a restart don't match. A record that was not changed since the start
+ * (or since the whole collection was read again, e.g. because its file was changed by someone else) has the revision
+ * of the collection at that time.
+ * <p>
+ * Only the revisions of the last changed records are kept (revisionMaxRecords per collection, deleted records too,
+ * so an old tag of a deleted record never matches again). When there are more, all records get the current revision
+ * of the collection: their tags change once and no revision is kept for them.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see Repository#getRevision()
+ * @since 2026-10-17
+ */
+public final class Revisions {
+    /**
+     * The start of the application, the first part of every tag
+     */
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * The last revision that was given out, shared by all collections
+     */
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * The maximum number of records per collection whose revision is kept
+     */
+    private static final int MAX_RECORDS = Math.max(0, Config.getIntProperty("revisionMaxRecords", 10000));
+
+    /**
+     * The revisions of the collections by their name
+     */
+    private static final Map<String, CollectionRevisions> COLLECTIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Utility class, no instances.
+     */
+    private Revisions() {
+    }
+
+    /**
+     * Gets the revision of a collection.
+     *
+     * @param collectionName the name of the collection, the same as the property of its JSON-file
+     * @return the revision, it changes with every change of a record in the collection
+     */
+    public static Revision of(String collectionName) {
+        return collection(collectionName).get();
+    }
+
+    /**
+     * Gets the revision of a record.
+     *
+     * @param collectionName the name of the collection, the same as the property of its JSON-file
+     * @param uuid           the uuid of the record
+     * @return the revision, it changes when the record is inserted, changed or deleted
+     */
+    public static Revision of(String collectionName, String uuid) {
+        return collection(collectionName).get(uuid);
+    }
+
+    /**
+     * Gets the revision of a day, for data that changes with the date, e.g. the overdue tasks.
+     *
+     * @param day the day
+     * @return the revision, it was made at the start of the day
+     */
+    public static Revision of(LocalDate day) {
+        return new Revision("d" + Long.toString(day.toEpochDay(), 36), day.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Records that records of a collection were changed.
+     *
+     * @param collectionName the name of the collection, the same as the property of its JSON-file
+     * @param uuids          the uuids of the inserted, changed or deleted records
+     */
+    static void changed(String collectionName, Collection<String> uuids) {
+        collection(collectionName).changed(uuids);
+    }
+
+    /**
+     * Records that any record of a collection may have changed.
+     *
+     * @param collectionName the name of the collection, the same as the property of its JSON-file
+     */
+    static void changedAll(String collectionName) {
+        collection(collectionName).changedAll();
+    }
+
+    /**
+     * Gets the revisions of a collection, they are created on first use.
+     *
+     * @param collectionName the name of the collection
+     * @return the revisions
+     */
+    private static CollectionRevisions collection(String collectionName) {
+        return COLLECTIONS.computeIfAbsent(collectionName, c -> new CollectionRevisions());
+    }
+
+    /**
+     * The revisions of one collection
+     */
+    private static final class CollectionRevisions {
+        /**
+         * The revisions of the records that changed since base, by their uuid
+         */
+        private final Map<String, Revision> records = new HashMap<>();
+
+        /**
+         * The revision of the records that did not change since the collection was read
+         */
+        private Revision base = next();
+
+        /**
+         * The revision of the collection
+         */
+        private Revision current = base;
+
+        /**
+         * Gets the revision of the collection.
+         *
+         * @return the revision
+         */
+        private synchronized Revision get() {
+            return current;
+        }
+
+        /**
+         * Gets the revision of a record.
+         *
+         * @param uuid the uuid of the record
+         * @return the revision
+         */
+        private synchronized Revision get(String uuid) {
+            return records.getOrDefault(uuid, base);
+        }
+
+        /**
+         * Gives the changed records and the collection a new revision.
+         * If too many revisions are kept, they are dropped and all records get the new revision.
+         *
+         * @param uuids the uuids of the records
+         */
+        private synchronized void changed(Collection<String> uuids) {
+            current = next();
+            for (String uuid : uuids) {
+                records.put(uuid, current);
+            }
+            if (records.size() > MAX_RECORDS) {
+                records.clear();
+                base = current;
+            }
+        }
+
+        /**
+         * Gives all records and the collection a new revision.
+         */
+        private synchronized void changedAll() {
+            records.clear();
+            base = next();
+            current = base;
+        }
+
+        /**
+         * Creates the next revision.
+         *
+         * @return the revision, changed now
+         */
+        private static Revision next() {
+            return new Revision(Long.toString(SEQUENCE.incrementAndGet(), 36), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * A revision of a collection or a record, or of several of them together
+     */
+    public static final class Revision {
+        /**
+         * The revision numbers, separated by dots
+         */
+        private final String numbers;
+
+        /**
+         * When the revision was made, in milliseconds
+         */
+        private final long lastModified;
+
+        /**
+         * Creates a revision.
+         *
+         * @param numbers      the revision numbers, separated by dots
+         * @param lastModified when the revision was made, in milliseconds
+         */
+        private Revision(String numbers, long lastModified) {
+            this.numbers = numbers;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Combines this revision with another one, e.g. the one of a project with the ones of its children.
+         *
+         * @param other the other revision
+         * @return a revision that changes when one of the two changes
+         */
+        public Revision and(Revision other) {
+            return new Revision(numbers + "." + other.numbers, Math.max(lastModified, other.lastModified));
+        }
+
+        /**
+         * Gets the tag of the revision, for the ETag.
+         *
+         * @return the tag, without quotes
+         */
+        public String getTag() {
+            return EPOCH + "-" + numbers;
+        }
+
+        /**
+         * Gets when the revision was made, for Last-Modified.
+         *
+         * @return the time in milliseconds, rounded down to seconds like the header
+         */
+        public long getLastModified() {
+            return lastModified / 1000 * 1000;
+        }
+    }
+}
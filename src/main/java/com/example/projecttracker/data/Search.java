@@ -0,0 +1,127 @@
+package com.example.projecttracker.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The conditions of a search, all of them have to be met: fields with a value or without one (see {@link SearchKeys}),
+ * a range of a sorted field (see {@link SortKeys}) and the uuids the records have to be one of, e.g. the tasks of a project.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see PrimaryKeyIndex#search(Search)
+ * @since 2026-10-17
+ */
+public final class Search {
+    /**
+     * The keys the records must have, by the name of the field
+     */
+    private final Map<String, String> keys = new LinkedHashMap<>();
+
+    /**
+     * The sorted field of the range, null if there is no range
+     */
+    private String rangeField;
+
+    /**
+     * The smallest key of the range, null if the range has no start
+     */
+    private String from;
+
+    /**
+     * The largest key of the range, null if the range has no end
+     */
+    private String to;
+
+    /**
+     * The uuids the records must be one of, null if any uuid is fine
+     */
+    private Set<String> uuids;
+
+    /**
+     * Adds a field that must have a key.
+     *
+     * @param field the name of the field
+     * @param key   the key
+     * @return this search
+     */
+    public Search where(String field, String key) {
+        keys.put(field, key);
+        return this;
+    }
+
+    /**
+     * Sets the range a sorted field must be in. Records without a value in the field are never in the range.
+     *
+     * @param field the name of the field
+     * @param from  the smallest key, null if the range has no start
+     * @param to    the largest key, null if the range has no end
+     * @return this search
+     */
+    public Search between(String field, String from, String to) {
+        this.rangeField = field;
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    /**
+     * Sets the uuids the records must be one of.
+     *
+     * @param uuids the uuids
+     * @return this search
+     */
+    public Search within(Collection<String> uuids) {
+        this.uuids = new LinkedHashSet<>(uuids);
+        return this;
+    }
+
+    /**
+     * Gets the keys the records must have.
+     *
+     * @return the keys by the name of the field
+     */
+    Map<String, String> getKeys() {
+        return Collections.unmodifiableMap(keys);
+    }
+
+    /**
+     * Gets the sorted field of the range.
+     *
+     * @return the name of the field, null if there is no range
+     */
+    String getRangeField() {
+        return rangeField;
+    }
+
+    /**
+     * Gets the smallest key of the range.
+     *
+     * @return the key, null if the range has no start
+     */
+    String getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the largest key of the range.
+     *
+     * @return the key, null if the range has no end
+     */
+    String getTo() {
+        return to;
+    }
+
+    /**
+     * Gets the uuids the records must be one of.
+     *
+     * @return the uuids, null if any uuid is fine
+     */
+    Set<String> getUuids() {
+        return uuids;
+    }
+}
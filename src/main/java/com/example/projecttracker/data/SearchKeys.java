@@ -0,0 +1,124 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.model.Issue;
+import com.example.projecttracker.model.PatchNote;
+import com.example.projecttracker.model.Status;
+import com.example.projecttracker.model.Task;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The fields the records of every kind of data can be searched by, for the search endpoints.
+ * Every field is a {@link SecondaryIndex} of the records, so a search only looks at the records with the value.
+ * The key of a status is its name, the key of a severity is in lower case. Records without a value have no key.
+ * The title and the description of the tasks, issues and patch notes are their text for the full-text search.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see PrimaryKeyIndex#search(Search)
+ * @since 2026-10-17
+ */
+public final class SearchKeys {
+    /**
+     * The search keys by the class of the data and the name of the field
+     */
+    private static final Map<Class<?>, Map<String, Function<?, String>>> KEYS = new HashMap<>();
+
+    /**
+     * The functions that get the text of a record by the class of the data
+     */
+    private static final Map<Class<?>, Function<?, String>> TEXTS = new HashMap<>();
+
+    static {
+        put(Task.class, "status", task -> status(task.getStatus()));
+        put(Issue.class, "status", issue -> status(issue.getStatus()));
+        put(Issue.class, "severity", issue -> severity(issue.getSeverity()));
+        TEXTS.put(Task.class, (Function<Task, String>) task -> text(task.getTitle(), task.getDescription()));
+        TEXTS.put(Issue.class, (Function<Issue, String>) issue -> text(issue.getTitle(), issue.getDescription()));
+        TEXTS.put(PatchNote.class, (Function<PatchNote, String>) patchNote -> text(patchNote.getTitle(), patchNote.getDescription()));
+    }
+
+    /**
+     * Utility class, no instances.
+     */
+    private SearchKeys() {
+    }
+
+    /**
+     * Gets the search keys of a kind of data.
+     *
+     * @param tClass the class of the data
+     * @param <T>    the type of the data
+     * @return the functions that get the keys by the name of the field, none if the data cannot be searched
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Map<String, Function<T, String>> of(Class<T> tClass) {
+        Map<String, Function<T, String>> keys = new LinkedHashMap<>();
+        KEYS.getOrDefault(tClass, Collections.emptyMap())
+                .forEach((name, key) -> keys.put(name, (Function<T, String>) key));
+        return keys;
+    }
+
+    /**
+     * Gets the text of a kind of data for the full-text search.
+     *
+     * @param tClass the class of the data
+     * @param <T>    the type of the data
+     * @return the function that gets the text of a record, null if the data has no text
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<T, String> textOf(Class<T> tClass) {
+        return (Function<T, String>) TEXTS.get(tClass);
+    }
+
+    /**
+     * Gets the key of a status.
+     *
+     * @param status the status
+     * @return the name of the status, null if there is none
+     */
+    public static String status(Status status) {
+        return status == null ? null : status.name();
+    }
+
+    /**
+     * Gets the key of a severity.
+     *
+     * @param severity the severity
+     * @return the severity in lower case, null if there is none
+     */
+    public static String severity(String severity) {
+        return severity == null ? null : severity.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the text of a title and a description.
+     *
+     * @param title       the title
+     * @param description the description
+     * @return the text, null if there is none
+     */
+    private static String text(String title, String description) {
+        if (description == null) {
+            return title;
+        }
+        return title == null ? description : title + "\n" + description;
+    }
+
+    /**
+     * Adds a search key.
+     *
+     * @param tClass the class of the data
+     * @param name   the name of the field
+     * @param key    gets the key of a record
+     * @param <T>    the type of the data
+     */
+    private static <T> void put(Class<T> tClass, String name, Function<T, String> key) {
+        KEYS.computeIfAbsent(tClass, c -> new LinkedHashMap<>()).put(name, key);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.projecttracker.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The uuids of the records of a {@link PrimaryKeyIndex} mapped by another field, e.g. the projects of a user.
+ * A record can have many keys, e.g. a project has the uuids of all its tasks.
+ * It is kept up to date by the primary key index and shares its lock, so it has no lock of its own.
+ * A lookup only touches the uuids with the key, not all records.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see PrimaryKeyIndex
+ * @since 2026-10-17
+ */
+class SecondaryIndex<T> {
+    /**
+     * Gets the keys of a record, empty if the record has none
+     */
+    private final Function<T, ? extends Collection<String>> keysOf;
+
+    /**
+     * The uuids of the records by their key, in the order they were added
+     */
+    private final Map<String, Set<String>> uuidsByKey = new HashMap<>();
+
+    /**
+     * The keys of every indexed record by its uuid, so a record can be removed even if it was changed in place
+     */
+    private final Map<String, Set<String>> keysByUuid = new HashMap<>();
+
+    /**
+     * Creates an empty index with many keys per record.
+     *
+     * @param keysOf gets the keys of a record, empty if the record has none
+     */
+    SecondaryIndex(Function<T, ? extends Collection<String>> keysOf) {
+        this.keysOf = keysOf;
+    }
+
+    /**
+     * Creates an empty index with one key per record.
+     *
+     * @param keyOf gets the key of a record, null if the record has none
+     * @param <T>   the type of the records
+     * @return the index
+     */
+    static <T> SecondaryIndex<T> single(Function<T, String> keyOf) {
+        return new SecondaryIndex<>(record -> {
+            String key = keyOf.apply(record);
+            return key == null ? Collections.emptySet() : Collections.singleton(key);
+        });
+    }
+
+    /**
+     * Adds a record or moves it to its new keys.
+     *
+     * @param uuid   the uuid of the record
+     * @param record the record
+     */
+    void put(String uuid, T record) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String key : keysOf.apply(record)) {
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        if (keys.equals(keysByUuid.get(uuid))) {
+            return;
+        }
+        remove(uuid);
+        if (!keys.isEmpty()) {
+            keysByUuid.put(uuid, keys);
+            for (String key : keys) {
+                uuidsByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(uuid);
+            }
+        }
+    }
+
+    /**
+     * Removes a record.
+     *
+     * @param uuid the uuid of the record
+     */
+    void remove(String uuid) {
+        Set<String> keys = keysByUuid.remove(uuid);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            Set<String> uuids = uuidsByKey.get(key);
+            uuids.remove(uuid);
+            if (uuids.isEmpty()) {
+                uuidsByKey.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the uuids of the records with a key.
+     *
+     * @param key the key
+     * @return the uuids, the set must not be changed
+     */
+    Set<String> get(String key) {
+        Set<String> uuids = uuidsByKey.get(key);
+        return uuids == null ? Collections.emptySet() : uuids;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.model.Issue;
+import com.example.projecttracker.model.PatchNote;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.Status;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.model.User;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The fields the lists of every kind of data can be sorted by, for the pages of the list endpoints.
+ * The key of a field is a string that sorts like the field: titles and names ignore the case,
+ * dates are written as yyyy-MM-dd. Records without a value come first. Records with the same key are sorted by uuid.
+ * Every kind can be sorted by uuid.
+ * <p>
+ * Since records without a value are never in a range, a key can also leave out records for the searches by range:
+ * openDeadline is the deadline of the tasks that are not completed, so the overdue tasks are found without
+ * looking at the completed ones.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see PrimaryKeyIndex#page(String, String, int)
+ * @since 2026-10-17
+ */
+public final class SortKeys {
+    /**
+     * The sort keys by the class of the data and the name of the field
+     */
+    private static final Map<Class<?>, Map<String, Function<?, String>>> KEYS = new HashMap<>();
+
+    static {
+        put(Task.class, "title", task -> text(task.getTitle()));
+        put(Task.class, "deadline", task -> date(task.getDeadline()));
+        put(Task.class, "openDeadline", task -> task.getStatus() == Status.COMPLETED ? "" : date(task.getDeadline()));
+        put(Issue.class, "title", issue -> text(issue.getTitle()));
+        put(PatchNote.class, "title", patchNote -> text(patchNote.getTitle()));
+        put(PatchNote.class, "date", patchNote -> date(patchNote.getDate()));
+        put(User.class, "userName", user -> text(user.getUserName()));
+        put(Project.class, "title", project -> text(project.getTitle()));
+        put(Project.class, "startDate", project -> date(project.getStartDate()));
+    }
+
+    /**
+     * Utility class, no instances.
+     */
+    private SortKeys() {
+    }
+
+    /**
+     * Gets the sort keys of a kind of data.
+     *
+     * @param tClass the class of the data
+     * @param <T>    the type of the data
+     * @return the functions that get the keys by the name of the field, uuid first
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Map<String, Function<T, String>> of(Class<T> tClass) {
+        Map<String, Function<T, String>> keys = new LinkedHashMap<>();
+        keys.put("uuid", t -> "");
+        KEYS.getOrDefault(tClass, Collections.emptyMap())
+                .forEach((name, key) -> keys.put(name, (Function<T, String>) key));
+        return keys;
+    }
+
+    /**
+     * Adds a sort key.
+     *
+     * @param tClass the class of the data
+     * @param name   the name of the field
+     * @param key    gets the key of a record
+     * @param <T>    the type of the data
+     */
+    private static <T> void put(Class<T> tClass, String name, Function<T, String> key) {
+        KEYS.computeIfAbsent(tClass, c -> new LinkedHashMap<>()).put(name, key);
+    }
+
+    /**
+     * Gets the key of a text.
+     *
+     * @param text the text
+     * @return the text in lower case, empty if there is none
+     */
+    private static String text(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the key of a date.
+     *
+     * @param date the date
+     * @return the date as yyyy-MM-dd, empty if there is none
+     */
+    private static String date(LocalDate date) {
+        return date == null ? "" : date.toString();
+    }
+}
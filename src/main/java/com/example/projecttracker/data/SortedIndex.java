@@ -0,0 +1,139 @@
+package com.example.projecttracker.data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * The uuids of the records of a {@link PrimaryKeyIndex} sorted by a key, see {@link SortKeys}.
+ * Records with the same key are sorted by uuid, so every record has its own position and a page can continue
+ * right after the last record of the page before. It is kept up to date by the primary key index and shares its lock.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see PrimaryKeyIndex#page(String, String, int)
+ * @since 2026-10-17
+ */
+class SortedIndex<T> {
+    /**
+     * The order of the entries: by key, then by uuid
+     */
+    private static final Comparator<String[]> ORDER = Comparator.<String[], String>comparing(entry -> entry[0])
+            .thenComparing(entry -> entry[1]);
+
+    /**
+     * Gets the key of a record
+     */
+    private final Function<T, String> keyOf;
+
+    /**
+     * The entries {key, uuid} in their order
+     */
+    private final TreeSet<String[]> entries = new TreeSet<>(ORDER);
+
+    /**
+     * The entry of every record by its uuid, so a record can be removed even if it was changed in place
+     */
+    private final Map<String, String[]> entryByUuid = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param keyOf gets the key of a record
+     */
+    SortedIndex(Function<T, String> keyOf) {
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Adds a record or moves it to its new position.
+     *
+     * @param uuid   the uuid of the record
+     * @param record the record
+     */
+    void put(String uuid, T record) {
+        String[] entry = {keyOf.apply(record), uuid};
+        String[] old = entryByUuid.put(uuid, entry);
+        if (old != null) {
+            entries.remove(old);
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Removes a record.
+     *
+     * @param uuid the uuid of the record
+     */
+    void remove(String uuid) {
+        String[] old = entryByUuid.remove(uuid);
+        if (old != null) {
+            entries.remove(old);
+        }
+    }
+
+    /**
+     * Gets the uuids of the records with a key in a range. Only the records in the range are looked at.
+     * Records without a key (the key is empty) are never in a range.
+     *
+     * @param from the smallest key, null if the range has no start
+     * @param to   the largest key, null if the range has no end
+     * @return the uuids in the order of their keys
+     */
+    List<String> between(String from, String to) {
+        // "\0" comes after the empty key and before every other key, so records without a key are left out
+        String[] start = {from == null || from.isEmpty() ? "\0" : from, ""};
+        if (to != null && start[0].compareTo(to) > 0) {
+            return new ArrayList<>();
+        }
+        // every entry with the key to comes before {to + "\0", ""}
+        NavigableSet<String[]> range = to == null
+                ? entries.tailSet(start, true)
+                : entries.subSet(start, true, new String[]{to + "\0", ""}, false);
+        List<String> uuids = new ArrayList<>();
+        for (String[] entry : range) {
+            uuids.add(entry[1]);
+        }
+        return uuids;
+    }
+
+    /**
+     * Checks if the key of a record is in a range.
+     *
+     * @param uuid the uuid of the record
+     * @param from the smallest key, null if the range has no start
+     * @param to   the largest key, null if the range has no end
+     * @return true if the record has a key and it is in the range
+     */
+    boolean inRange(String uuid, String from, String to) {
+        String[] entry = entryByUuid.get(uuid);
+        if (entry == null || entry[0].isEmpty()) {
+            return false;
+        }
+        return (from == null || entry[0].compareTo(from) >= 0) && (to == null || entry[0].compareTo(to) <= 0);
+    }
+
+    /**
+     * Gets the entries after a position. Only the returned entries are looked at.
+     *
+     * @param after the last entry {key, uuid} of the page before, null for the first page
+     * @param limit the maximum number of entries
+     * @return the entries {key, uuid} in their order
+     */
+    List<String[]> after(String[] after, int limit) {
+        List<String[]> page = new ArrayList<>(Math.min(limit, entries.size()));
+        for (String[] entry : after == null ? entries : entries.tailSet(after, false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(entry);
+        }
+        return page;
+    }
+}
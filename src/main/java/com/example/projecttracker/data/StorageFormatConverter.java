@@ -0,0 +1,89 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.util.SerializationRegistry.DataFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converts collection files from one format to another, e.g. after storageFormat was changed.
+ * The file is copied token by token, so the records are not bound to the model classes.
+ * The files are read in any format, so converting is optional: the storages read old files as they are.
+ * <p>
+ * Usage, while the application is stopped: {@code StorageFormatConverter <json|smile|cbor> [propertyName...]}.
+ * Without property names all collection files are converted.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see CollectionStorage
+ * @since 2026-10-17
+ */
+public class StorageFormatConverter {
+    /**
+     * The properties of all collection files
+     */
+    private static final List<String> COLLECTIONS = Arrays.asList("taskJSON", "issueJSON", "patchNoteJSON", "userJSON", "projectJSON");
+
+    /**
+     * Converts the collection files.
+     *
+     * @param args the format to convert to, followed by the properties of the files to convert
+     * @throws IOException when a file cannot be converted
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || Arrays.stream(DataFormat.values()).noneMatch(f -> f.name().equalsIgnoreCase(args[0]))) {
+            System.err.println("Usage: StorageFormatConverter <json|smile|cbor> [propertyName...]");
+            return;
+        }
+        DataFormat target = DataFormat.of(args[0]);
+        List<String> collections = args.length > 1 ? Arrays.asList(args).subList(1, args.length) : COLLECTIONS;
+        for (String propertyName : collections) {
+            Path file = Paths.get(Config.getProperty(propertyName));
+            if (!Files.exists(file)) {
+                System.out.println(propertyName + ": " + file + " does not exist");
+            } else if (convert(file, target)) {
+                System.out.println(propertyName + ": converted to " + target + ", " + Files.size(file) + " bytes");
+            } else {
+                System.out.println(propertyName + ": already " + target);
+            }
+        }
+    }
+
+    /**
+     * Converts a file. The converted file is written next to it and renamed over it.
+     *
+     * @param file   the file to convert
+     * @param target the format to convert to
+     * @return false if the file already was in the format
+     * @throws IOException when the file cannot be converted
+     */
+    public static boolean convert(Path file, DataFormat target) throws IOException {
+        Path temp = Paths.get(file + ".converting");
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            DataFormat source = DataFormat.detect(in);
+            if (source == target) {
+                return false;
+            }
+            try (JsonParser parser = source.getMapper().getFactory().createParser(in);
+                 OutputStream out = Files.newOutputStream(temp);
+                 JsonGenerator generator = target.getMapper().getFactory().createGenerator(out)) {
+                if (parser.nextToken() != null) {
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+}
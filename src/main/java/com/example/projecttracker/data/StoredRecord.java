@@ -0,0 +1,62 @@
+package com.example.projecttracker.data;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One record of any collection in the database of the {@link JpaRepository}.
+ * The record itself is kept as JSON, the columns that are searched are indexed.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Entity
+@Table(name = "RECORDS", indexes = {
+        @Index(name = "RECORDS_COLLECTION_ORDER", columnList = "collectionName, writeOrder"),
+        @Index(name = "RECORDS_COLLECTION_OWNER", columnList = "collectionName, ownerUUID")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredRecord {
+    /**
+     * The uuid of the record
+     */
+    @Id
+    @Column(length = 36)
+    private String uuid;
+
+    /**
+     * The collection of the record, the name of its property like taskJSON
+     */
+    @Column(nullable = false, length = 64)
+    private String collectionName;
+
+    /**
+     * The uuid of the user the record belongs to, null if it doesn't belong to a user
+     */
+    @Column(length = 36)
+    private String ownerUUID;
+
+    /**
+     * The order of the records, like in the JSON-files the last written record is the last one
+     */
+    private long writeOrder;
+
+    /**
+     * The record as JSON
+     */
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+}
@@ -0,0 +1,252 @@
+package com.example.projecttracker.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The words of the text of the records of a {@link PrimaryKeyIndex} with the uuids of the records they are in
+ * (an inverted index), for the full-text search. The text is split at everything that is no letter or digit
+ * and put in lower case. It is kept up to date by the primary key index and shares its lock.
+ * <p>
+ * A search finds the records with all words of the query and ranks them with BM25: rare words count more than
+ * common ones, a word that is in a record more often counts more and short records count more than long ones.
+ * Only the records of the rarest word are looked at.
+ *
+ * @param <T> the type of the records
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see PrimaryKeyIndex#searchText(String, Set, int)
+ * @since 2026-10-17
+ */
+class TextIndex<T> {
+    /**
+     * How fast more of the same word stops counting (BM25 k1)
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * How much the length of a record counts (BM25 b)
+     */
+    private static final double B = 0.75;
+
+    /**
+     * The order of the hits: best score first, then by uuid
+     */
+    private static final Comparator<Hit> ORDER = Comparator.comparingDouble(Hit::getScore).reversed()
+            .thenComparing(Hit::getUuid);
+
+    /**
+     * Gets the text of a record, null if the record has none
+     */
+    private final Function<T, String> textOf;
+
+    /**
+     * How often every word is in the records, by the word and the uuid of the record
+     */
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+
+    /**
+     * The words of every indexed record by its uuid, so a record can be removed even if it was changed in place
+     */
+    private final Map<String, Set<String>> wordsByUuid = new HashMap<>();
+
+    /**
+     * The number of words of every indexed record by its uuid
+     */
+    private final Map<String, Integer> lengths = new HashMap<>();
+
+    /**
+     * The number of words of all indexed records
+     */
+    private long totalLength;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param textOf gets the text of a record, null if the record has none
+     */
+    TextIndex(Function<T, String> textOf) {
+        this.textOf = textOf;
+    }
+
+    /**
+     * Splits a text into its words.
+     *
+     * @param text the text
+     * @return the words in lower case, in the order of the text
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Adds a record or indexes its new text.
+     *
+     * @param uuid   the uuid of the record
+     * @param record the record
+     */
+    void put(String uuid, T record) {
+        remove(uuid);
+        Map<String, Integer> counts = new HashMap<>();
+        int length = 0;
+        for (String word : words(textOf.apply(record))) {
+            counts.merge(word, 1, Integer::sum);
+            length++;
+        }
+        if (length == 0) {
+            return;
+        }
+        counts.forEach((word, count) -> postings.computeIfAbsent(word, w -> new HashMap<>()).put(uuid, count));
+        wordsByUuid.put(uuid, counts.keySet());
+        lengths.put(uuid, length);
+        totalLength += length;
+    }
+
+    /**
+     * Removes a record.
+     *
+     * @param uuid the uuid of the record
+     */
+    void remove(String uuid) {
+        Set<String> words = wordsByUuid.remove(uuid);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Map<String, Integer> posting = postings.get(word);
+            posting.remove(uuid);
+            if (posting.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+        totalLength -= lengths.remove(uuid);
+    }
+
+    /**
+     * Finds the records with all words of a query, best first.
+     *
+     * @param query the query
+     * @param uuids the uuids the records must be one of, null if any uuid is fine
+     * @param limit the maximum number of hits
+     * @return the hits, best first
+     */
+    List<Hit> search(String query, Set<String> uuids, int limit) {
+        Set<String> words = new LinkedHashSet<>(words(query));
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Map<String, Integer>> found = new ArrayList<>(words.size());
+        for (String word : words) {
+            Map<String, Integer> posting = postings.get(word);
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            found.add(posting);
+        }
+        found.sort(Comparator.comparingInt(Map::size));
+
+        int records = lengths.size();
+        double averageLength = (double) totalLength / records;
+        double[] weights = new double[found.size()];
+        for (int i = 0; i < weights.length; i++) {
+            int with = found.get(i).size();
+            weights[i] = Math.log(1 + (records - with + 0.5) / (with + 0.5));
+        }
+        Iterable<String> candidates = uuids != null && uuids.size() < found.get(0).size() ? uuids : found.get(0).keySet();
+        // the worst of the best hits so far on top
+        PriorityQueue<Hit> best = new PriorityQueue<>(ORDER.reversed());
+        for (String uuid : candidates) {
+            if (uuids != null && !uuids.contains(uuid)) {
+                continue;
+            }
+            double norm = K1 * (1 - B + B * lengths.getOrDefault(uuid, 0) / averageLength);
+            double score = 0;
+            for (int i = 0; i < weights.length; i++) {
+                Integer count = found.get(i).get(uuid);
+                if (count == null) {
+                    score = -1;
+                    break;
+                }
+                score += weights[i] * count * (K1 + 1) / (count + norm);
+            }
+            if (score < 0) {
+                continue;
+            }
+            best.add(new Hit(uuid, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(ORDER);
+        return hits;
+    }
+
+    /**
+     * A record that was found, with its score
+     */
+    static final class Hit {
+        /**
+         * The uuid of the record
+         */
+        private final String uuid;
+
+        /**
+         * The score of the record, higher is better
+         */
+        private final double score;
+
+        /**
+         * Creates a hit.
+         *
+         * @param uuid  the uuid of the record
+         * @param score the score of the record
+         */
+        Hit(String uuid, double score) {
+            this.uuid = uuid;
+            this.score = score;
+        }
+
+        /**
+         * Gets the uuid of the record.
+         *
+         * @return the uuid
+         */
+        String getUuid() {
+            return uuid;
+        }
+
+        /**
+         * Gets the score of the record.
+         *
+         * @return the score, higher is better
+         */
+        double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.projecttracker.data;
+
+/**
+ * A record found by the full-text search, with its score.
+ *
+ * @param <T> the type of the record
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see Repository#searchText(String, java.util.Collection, int)
+ * @since 2026-10-17
+ */
+public final class TextMatch<T> {
+    /**
+     * The record
+     */
+    private final T record;
+
+    /**
+     * The score of the record, higher is better
+     */
+    private final double score;
+
+    /**
+     * Creates a match.
+     *
+     * @param record the record
+     * @param score  the score of the record
+     */
+    public TextMatch(T record, double score) {
+        this.record = record;
+        this.score = score;
+    }
+
+    /**
+     * Gets the record.
+     *
+     * @return the record
+     */
+    public T getRecord() {
+        return record;
+    }
+
+    /**
+     * Gets the score of the record. Only scores of the same kind of data can be compared,
+     * every kind has its own word statistics.
+     *
+     * @return the score, higher is better
+     */
+    public double getScore() {
+        return score;
+    }
+}
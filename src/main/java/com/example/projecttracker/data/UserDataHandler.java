@@ -1,9 +1,7 @@
 package com.example.projecttracker.data;
 
 import com.example.projecttracker.model.User;
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
 
 import java.io.IOException;
 
@@ -42,8 +40,7 @@ public class UserDataHandler extends DataHandlerGen<User> {
     }
 
     @Override
-    protected FilterProvider getFilterProvider() {
-        return new SimpleFilterProvider()
-                .addFilter("UserFilter", SimpleBeanPropertyFilter.serializeAll());
+    protected FilterSet getFilterSet() {
+        return FilterSet.USER;
     }
 }
@@ -0,0 +1,114 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.model.User;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the uuids of users to users, e.g. while projects are read. Inside a scope every distinct user is
+ * looked up only once and every project of the user gets the same instance. The scopes are opened around
+ * the reads of whole collections, so reading many projects doesn't look up their user for every project.
+ * Outside a scope every call is a lookup in the users, which have their own cache.
+ * The users are looked up in the index of their JSON-file (or in the database), not through the
+ * {@link Repositories}, because users are resolved while other collections are read, e.g. by a writer thread.
+ * <p>
+ * A scope belongs to the thread that opened it. Opening a scope inside another one uses the outer scope.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see com.example.projecttracker.model.Project#setUserUUID(String)
+ * @since 2026-10-17
+ */
+public final class UserIdentityMap implements AutoCloseable {
+    /**
+     * The scope of the current thread
+     */
+    private static final ThreadLocal<UserIdentityMap> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The handler of the JSON-file of the users
+     */
+    private static final UserDataHandler USERS = new UserDataHandler();
+
+    /**
+     * The resolved users by their uuid, null for uuids without a user
+     */
+    private final Map<String, User> users;
+
+    /**
+     * If this scope opened the map and closes it
+     */
+    private final boolean owner;
+
+    /**
+     * Creates a scope.
+     *
+     * @param users the resolved users
+     * @param owner if this scope opened the map
+     */
+    private UserIdentityMap(Map<String, User> users, boolean owner) {
+        this.users = users;
+        this.owner = owner;
+    }
+
+    /**
+     * Opens a scope for the current thread. It must be closed, best with try-with-resources.
+     *
+     * @return the scope
+     */
+    public static UserIdentityMap open() {
+        UserIdentityMap current = CURRENT.get();
+        if (current != null) {
+            return new UserIdentityMap(current.users, false);
+        }
+        UserIdentityMap scope = new UserIdentityMap(new HashMap<>(), true);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Resolves the uuid of a user.
+     *
+     * @param userUUID the uuid of the user
+     * @return the user or null if there is none
+     * @throws IOException when the users cannot be read
+     */
+    public static User resolve(String userUUID) throws IOException {
+        UserIdentityMap current = CURRENT.get();
+        if (current == null) {
+            return lookup(userUUID);
+        }
+        if (current.users.containsKey(userUUID)) {
+            return current.users.get(userUUID);
+        }
+        User user = lookup(userUUID);
+        current.users.put(userUUID, user);
+        return user;
+    }
+
+    /**
+     * Looks up a user in the backend.
+     *
+     * @param userUUID the uuid of the user
+     * @return the user or null if there is none
+     * @throws IOException when the users cannot be read
+     */
+    private static User lookup(String userUUID) throws IOException {
+        if (Repositories.usesJpa()) {
+            return Repositories.users().findByUuid(userUUID);
+        }
+        return USERS.getIndex("userJSON").get(userUUID);
+    }
+
+    /**
+     * Closes the scope, if it opened the map.
+     */
+    @Override
+    public void close() {
+        if (owner) {
+            CURRENT.remove();
+        }
+    }
+}
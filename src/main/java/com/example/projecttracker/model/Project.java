@@ -3,7 +3,7 @@ package com.example.projecttracker.model;
 import com.example.projecttracker.data.IssueDataHandler;
 import com.example.projecttracker.data.PatchnoteDataHandler;
 import com.example.projecttracker.data.TaskDataHandler;
-import com.example.projecttracker.data.UserDataHandler;
+import com.example.projecttracker.data.UserIdentityMap;
 import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.NotEmpty;
@@ -118,7 +118,7 @@ public class Project {
     }
 
     /**
-     * creates a User-Object without the project
+     * sets the user of the project, every distinct user is only looked up once per read (see {@link UserIdentityMap})
      *
      * @param userUUID the userUUID of the user
      * @throws IOException            if the json file cannot be read
@@ -127,14 +127,8 @@ public class Project {
      * @author Alyssa Heimlicher
      */
     public void setUserUUID(String userUUID) throws IOException, NoSuchFieldException, IllegalAccessException {
-        setUser(new User());
-        User user = new UserDataHandler().readUserByUserUUID(userUUID);
-        if (user != null) {
-            getUser().setUserUUID(userUUID);
-            getUser().setUserName(user.getUserName());
-            getUser().setPassword(user.getPassword());
-            getUser().setUserRole(user.getUserRole());
-        }
+        User user = UserIdentityMap.resolve(userUUID);
+        setUser(user != null ? user : new User());
     }
 
     /**
@@ -0,0 +1,98 @@
+package com.example.projecttracker.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The child collections of a project that can be expanded, e.g. with {@code expand=tasks,issues}.
+ * A collection that is not expanded is not loaded and only its uuids are sent.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see Project
+ * @since 2026-10-17
+ */
+public enum ProjectChild {
+    /**
+     * The tasks of a project.
+     */
+    TASKS("tasks", "taskUUIDs"),
+    /**
+     * The issues of a project.
+     */
+    ISSUES("issues", "issueUUIDs"),
+    /**
+     * The patch notes of a project.
+     */
+    PATCH_NOTES("patchNotes", "patchNoteUUIDs");
+
+    /**
+     * The name of the property with the children
+     */
+    private final String property;
+
+    /**
+     * The name of the property with the uuids of the children
+     */
+    private final String uuidProperty;
+
+    /**
+     * Creates a child collection.
+     *
+     * @param property     the name of the property with the children
+     * @param uuidProperty the name of the property with the uuids of the children
+     */
+    ProjectChild(String property, String uuidProperty) {
+        this.property = property;
+        this.uuidProperty = uuidProperty;
+    }
+
+    /**
+     * Gets the name of the property with the children, which is also the name used in expand.
+     *
+     * @return the name of the property
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Gets the name of the property with the uuids of the children.
+     *
+     * @return the name of the property
+     */
+    public String getUuidProperty() {
+        return uuidProperty;
+    }
+
+    /**
+     * Reads the value of an expand parameter, a comma separated list of the collections to expand.
+     *
+     * @param expand the value of the parameter, null or empty for none
+     * @return the collections to expand
+     * @throws IllegalArgumentException when a name is not a child collection
+     */
+    public static Set<ProjectChild> parse(String expand) {
+        Set<ProjectChild> children = EnumSet.noneOf(ProjectChild.class);
+        if (expand == null) {
+            return children;
+        }
+        for (String name : expand.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            boolean found = false;
+            for (ProjectChild child : values()) {
+                if (child.property.equalsIgnoreCase(name)) {
+                    children.add(child);
+                    found = true;
+                }
+            }
+            if (!found) {
+                throw new IllegalArgumentException("Unknown collection to expand: " + name);
+            }
+        }
+        return children;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.projecttracker.services;
+
+import com.example.projecttracker.data.Repository;
+import com.example.projecttracker.data.UserIdentityMap;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Creates many records of one kind from a JSON array, for the bulk endpoints of the resources.
+ * Every element is checked with the same constraints as the create forms. The valid elements are
+ * written with one write of the repository, the invalid ones are skipped. Whether a uuid is already taken
+ * is checked by the repository inside that write, only for the uuids of the array, so a record created
+ * at the same time is never overwritten.
+ * The users of the elements are resolved once per distinct user (see {@link UserIdentityMap}).
+ * The answer has a result for every element, in the order of the array:
+ * {@code {"created":1,"failed":1,"results":[{"index":0,"uuid":"...","success":"Task created"},{"index":1,"error":"..."}]}}
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class BulkInsert {
+    /**
+     * The validator of the elements
+     */
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    /**
+     * No instances, only static methods.
+     */
+    private BulkInsert() {
+    }
+
+    /**
+     * Creates the records of a JSON array.
+     *
+     * @param body       the JSON array
+     * @param tClass     the class of the records
+     * @param repository the repository to write the records to
+     * @param uuidOf     gets the uuid of a record
+     * @param prepare    prepares an element before it is checked
+     * @param name       the name of the records in the messages, e.g. "Task"
+     * @param <T>        the type of the records
+     * @return the result of every element, 400 if the body is no JSON array, 500 if the records cannot be written
+     */
+    public static <T> Response insert(String body, Class<T> tClass, Repository<T> repository, Function<T, String> uuidOf, Preparer<T> prepare, String name) {
+        ObjectMapper mapper = SerializationRegistry.getMapper();
+        JsonNode elements;
+        try {
+            elements = mapper.readTree(body == null ? "" : body);
+        } catch (JsonProcessingException e) {
+            elements = null;
+        }
+        if (elements == null || !elements.isArray()) {
+            return Response.status(400).entity("{\"error\":\"A JSON array is expected\"}").build();
+        }
+
+        ArrayNode results = mapper.createArrayNode();
+        List<T> valid = new ArrayList<>();
+        List<ObjectNode> validResults = new ArrayList<>();
+        Set<String> taken;
+        try (UserIdentityMap users = UserIdentityMap.open()) {
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < elements.size(); i++) {
+                JsonNode element = elements.get(i);
+                ObjectNode result = results.addObject().put("index", i);
+                String error;
+                T t = null;
+                try {
+                    t = SerializationRegistry.reader(tClass).readValue(element);
+                    error = prepare.prepare(t, element);
+                    if (error == null) {
+                        error = violations(t);
+                    }
+                    if (error == null && !seen.add(uuidOf.apply(t))) {
+                        error = name + " " + uuidOf.apply(t) + " already exists";
+                    }
+                } catch (JsonProcessingException e) {
+                    error = e.getOriginalMessage();
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+
+                if (error != null) {
+                    result.put("error", error);
+                } else {
+                    valid.add(t);
+                    validResults.add(result.put("uuid", uuidOf.apply(t)));
+                }
+            }
+
+            taken = repository.insertAll(valid);
+        } catch (IOException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+
+        int created = 0;
+        for (ObjectNode result : validResults) {
+            String uuid = result.remove("uuid").asText();
+            if (taken.contains(uuid)) {
+                result.put("error", name + " " + uuid + " already exists");
+            } else {
+                result.put("uuid", uuid).put("success", name + " created");
+                created++;
+            }
+        }
+        ObjectNode answer = mapper.createObjectNode()
+                .put("created", created)
+                .put("failed", elements.size() - created);
+        answer.set("results", results);
+        return Response.status(200).entity(answer.toString()).build();
+    }
+
+    /**
+     * Checks a record with its constraints.
+     *
+     * @param t   the record
+     * @param <T> the type of the record
+     * @return the violated constraints or null if there are none
+     */
+    private static <T> String violations(T t) {
+        Set<ConstraintViolation<T>> violations = VALIDATOR.validate(t);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        StringBuilder msg = new StringBuilder();
+        for (ConstraintViolation<T> cv : violations) {
+            if (msg.length() > 0) {
+                msg.append(", ");
+            }
+            msg.append(cv.getPropertyPath()).append(" ").append(cv.getMessage());
+        }
+        return msg.toString();
+    }
+
+    /**
+     * Prepares an element the way the create endpoint prepares its form, before it is checked.
+     *
+     * @param <T> the type of the records
+     */
+    public interface Preparer<T> {
+        /**
+         * Prepares an element.
+         *
+         * @param t       the element as record
+         * @param element the element as JSON
+         * @return an error message or null if the element can be created
+         * @throws IOException when something cannot be read
+         */
+        String prepare(T t, JsonNode element) throws IOException;
+    }
+}
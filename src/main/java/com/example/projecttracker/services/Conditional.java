@@ -0,0 +1,63 @@
+package com.example.projecttracker.services;
+
+import com.example.projecttracker.data.Revisions.Revision;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Date;
+
+/**
+ * The conditional GETs of the resources. The responses carry the revision of their data as ETag and Last-Modified.
+ * A request with If-None-Match or If-Modified-Since for the current revision gets a 304 before anything is read,
+ * so polling for changes costs almost nothing.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see com.example.projecttracker.data.Revisions
+ * @since 2026-10-17
+ */
+public final class Conditional {
+    /**
+     * No instances, only static methods.
+     */
+    private Conditional() {
+    }
+
+    /**
+     * Checks if the client already has the current revision.
+     *
+     * @param request  the request with its If-None-Match and If-Modified-Since
+     * @param revision the current revision of the data
+     * @return a 304 response or null if the data has to be sent
+     */
+    public static Response notModified(Request request, Revision revision) {
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(new Date(revision.getLastModified()), tag(revision));
+        return notModified == null ? null : notModified.build();
+    }
+
+    /**
+     * Creates the response with the data and its revision.
+     *
+     * @param entity   the data
+     * @param revision the revision of the data, read before the data
+     * @return a 200 response with ETag and Last-Modified
+     */
+    public static Response ok(Object entity, Revision revision) {
+        return Response.status(200)
+                .entity(entity)
+                .tag(tag(revision))
+                .lastModified(new Date(revision.getLastModified()))
+                .build();
+    }
+
+    /**
+     * Gets the ETag of a revision.
+     *
+     * @param revision the revision
+     * @return the ETag
+     */
+    private static EntityTag tag(Revision revision) {
+        return new EntityTag(revision.getTag());
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.projecttracker.services;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.data.Page;
+import com.example.projecttracker.data.Revisions.Revision;
+import com.example.projecttracker.model.ProjectChild;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.TinyLfuCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the JSON of single records as UTF-8 bytes, so a record that did not change is only written by Jackson once.
+ * A fragment is found by the kind of the record and the filters it was written with (the variant, e.g. "task" or
+ * "project:tasks"), its uuid and its revision. A changed record has a new revision, so its old fragment is never used
+ * again and is evicted like any other. Lists are put together from the fragments and streamed into the response.
+ * <p>
+ * A fragment is only kept if the data did not change while it was written, otherwise it could be the JSON of the
+ * record before the change under the revision after it. The size is set with responseCacheMaxEntries (0 = no cache).
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see com.example.projecttracker.data.Revisions
+ * @since 2026-10-17
+ */
+public final class FragmentCache {
+    /**
+     * The fragments by their key
+     */
+    private static final TinyLfuCache<String, byte[]> FRAGMENTS = new TinyLfuCache<>(Math.max(0, Config.getIntProperty("responseCacheMaxEntries", 10000)));
+
+    /**
+     * The start of a page, up to its items
+     */
+    private static final byte[] PAGE_START = "{\"items\":".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The part of a page between its items and its cursor
+     */
+    private static final byte[] PAGE_CURSOR = ",\"nextCursor\":".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * No instances, only static methods.
+     */
+    private FragmentCache() {
+    }
+
+    /**
+     * Gets the cache of the fragments, for the statistics.
+     *
+     * @return the cache
+     */
+    public static TinyLfuCache<String, byte[]> getCache() {
+        return FRAGMENTS;
+    }
+
+    /**
+     * Gets the JSON of a single record.
+     *
+     * @param record   the record
+     * @param variant  the kind of the record and its filters, e.g. "task"
+     * @param uuid     the uuid of the record
+     * @param revision the revision of the record, read before the record
+     * @param current  gets the current revision of the record
+     * @param writer   the writer of the record, with its filters
+     * @return the JSON as UTF-8
+     * @throws JsonProcessingException if the record cannot be written
+     */
+    public static byte[] single(Object record, String variant, String uuid, Revision revision, Supplier<Revision> current, ObjectWriter writer) throws JsonProcessingException {
+        String key = key(variant, uuid, revision);
+        byte[] bytes = FRAGMENTS.get(key);
+        if (bytes == null) {
+            bytes = writer.writeValueAsBytes(record);
+            if (revision.getTag().equals(current.get().getTag())) {
+                FRAGMENTS.put(key, bytes);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Streams a list of records as JSON array.
+     *
+     * @param records    the records
+     * @param variant    the kind of the records and their filters, e.g. "task"
+     * @param uuidOf     gets the uuid of a record
+     * @param revisionOf gets the revision of a record by its uuid
+     * @param revision   the revision of the whole list, read before the records
+     * @param current    gets the current revision of the whole list
+     * @param writer     the writer of a single record, with its filters
+     * @param <T>        the type of the records
+     * @return the entity of the response
+     */
+    public static <T> StreamingOutput list(List<T> records, String variant, Function<T, String> uuidOf, Function<String, Revision> revisionOf,
+                                           Revision revision, Supplier<Revision> current, ObjectWriter writer) {
+        return out -> writeList(out, records, variant, uuidOf, revisionOf, revision, current, writer);
+    }
+
+    /**
+     * Streams a page of records as {@code {"items":[...],"nextCursor":"..."}}, see {@link Paging}.
+     *
+     * @param page       the page
+     * @param variant    the kind of the records and their filters, e.g. "task"
+     * @param uuidOf     gets the uuid of a record
+     * @param revisionOf gets the revision of a record by its uuid
+     * @param revision   the revision of the whole list, read before the records
+     * @param current    gets the current revision of the whole list
+     * @param writer     the writer of a single record, with its filters
+     * @param <T>        the type of the records
+     * @return the entity of the response
+     */
+    public static <T> StreamingOutput page(Page<T> page, String variant, Function<T, String> uuidOf, Function<String, Revision> revisionOf,
+                                           Revision revision, Supplier<Revision> current, ObjectWriter writer) {
+        return out -> {
+            out.write(PAGE_START);
+            writeList(out, page.getItems(), variant, uuidOf, revisionOf, revision, current, writer);
+            out.write(PAGE_CURSOR);
+            out.write(SerializationRegistry.getMapper().writeValueAsBytes(page.getNextCursor()));
+            out.write('}');
+        };
+    }
+
+    /**
+     * Writes a list of records as JSON array, from the fragments or with the writer. The new fragments are kept
+     * once the list is written, if the list did not change in the meantime.
+     *
+     * @param out        the stream of the response
+     * @param records    the records
+     * @param variant    the kind of the records and their filters
+     * @param uuidOf     gets the uuid of a record
+     * @param revisionOf gets the revision of a record by its uuid
+     * @param revision   the revision of the whole list, read before the records
+     * @param current    gets the current revision of the whole list
+     * @param writer     the writer of a single record
+     * @param <T>        the type of the records
+     * @throws IOException if the response cannot be written
+     */
+    private static <T> void writeList(OutputStream out, List<T> records, String variant, Function<T, String> uuidOf, Function<String, Revision> revisionOf,
+                                      Revision revision, Supplier<Revision> current, ObjectWriter writer) throws IOException {
+        Map<String, byte[]> written = new LinkedHashMap<>();
+        out.write('[');
+        for (int i = 0; i < records.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            T record = records.get(i);
+            String uuid = uuidOf.apply(record);
+            String key = key(variant, uuid, revisionOf.apply(uuid));
+            byte[] bytes = FRAGMENTS.get(key);
+            if (bytes == null) {
+                bytes = writer.writeValueAsBytes(record);
+                // more than the cache can hold would only evict each other
+                if (written.size() < FRAGMENTS.getMaximumSize()) {
+                    written.put(key, bytes);
+                }
+            }
+            out.write(bytes);
+        }
+        out.write(']');
+        if (!written.isEmpty() && revision.getTag().equals(current.get().getTag())) {
+            written.forEach(FRAGMENTS::put);
+        }
+    }
+
+    /**
+     * Gets the variant of projects that are sent with the given children.
+     *
+     * @param expand the children that are sent
+     * @return the variant, e.g. "project:tasks,issues,"
+     */
+    public static String projectVariant(Set<ProjectChild> expand) {
+        StringBuilder variant = new StringBuilder("project:");
+        for (ProjectChild child : ProjectChild.values()) {
+            if (expand.contains(child)) {
+                variant.append(child.getProperty()).append(',');
+            }
+        }
+        return variant.toString();
+    }
+
+    /**
+     * Gets the key of a fragment.
+     *
+     * @param variant  the kind of the record and its filters
+     * @param uuid     the uuid of the record
+     * @param revision the revision of the record
+     * @return the key
+     */
+    private static String key(String variant, String uuid, Revision revision) {
+        return variant + '|' + uuid + '|' + revision.getTag();
+    }
+}
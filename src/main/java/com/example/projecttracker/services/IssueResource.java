@@ -1,18 +1,24 @@
 package com.example.projecttracker.services;
 
-import com.example.projecttracker.data.DataHandlerGen;
-import com.example.projecttracker.data.IssueDataHandler;
+import com.example.projecttracker.data.Page;
+import com.example.projecttracker.data.Repositories;
+import com.example.projecttracker.data.Revisions.Revision;
+import com.example.projecttracker.data.Search;
 import com.example.projecttracker.model.Issue;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 
 /**
  * The issue service file used to handle all requests to the issue class.
@@ -26,19 +32,78 @@ public class IssueResource {
 
     /**
      * Gets all issues from the JSON file.
+     * With limit, sort or cursor only a page is sent, see {@link Paging}.
      *
+     * @param limit   the maximum number of issues of the page
+     * @param sort    the field to sort by, e.g. title (default: uuid)
+     * @param cursor  the nextCursor of the page before
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return an arraylist of issues
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/list")
-    public Response getAllIssues() {
+    public Response getAllIssues(@QueryParam("limit") Integer limit, @QueryParam("sort") String sort, @QueryParam("cursor") String cursor, @Context Request request) {
         try {
-            ArrayList<Issue> issues = new DataHandlerGen<>(Issue.class).getArrayListOutOfJSON("issueJSON");
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.findAndRegisterModules();
-            return Response.status(200).entity(objectMapper.writeValueAsString(issues)).build();
+            Revision revision = Repositories.issues().getRevision();
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            if (Paging.requested(limit, sort, cursor)) {
+                Page<Issue> page = Repositories.issues().findPage(Paging.sort(sort), cursor, Paging.limit(limit));
+                return Conditional.ok(FragmentCache.page(page, "issue", Issue::getIssueUUID, Repositories.issues()::getKnownRevision,
+                        revision, Repositories.issues()::getRevision, SerializationRegistry.writer(Issue.class, FilterSet.NONE)), revision);
+            }
+            List<Issue> issues = Repositories.issues().findAll();
+            return Conditional.ok(FragmentCache.list(issues, "issue", Issue::getIssueUUID, Repositories.issues()::getKnownRevision,
+                    revision, Repositories.issues()::getRevision, SerializationRegistry.writer(Issue.class, FilterSet.NONE)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+
+    /**
+     * This method searches the issues through the indexes, only the issues that meet the conditions are looked at.
+     * All parameters are optional, see {@link SearchParams}.
+     *
+     * @param status   the status of the issues, e.g. IN_PROGRESS
+     * @param severity the severity of the issues, e.g. critical
+     * @param project  the uuid of the project of the issues
+     * @param request  the request, for If-None-Match and If-Modified-Since
+     * @return the issues that meet all conditions
+     */
+    @GET
+    @Produces("application/json")
+    @Path("/search")
+    public Response searchIssues(@QueryParam("status") String status, @QueryParam("severity") String severity,
+                                 @QueryParam("project") String project, @Context Request request) {
+        try {
+            Revision revision = Repositories.issues().getRevision();
+            if (project != null) {
+                revision = revision.and(Repositories.projects().getRevision(project));
+            }
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            Search search = SearchParams.severity(SearchParams.status(new Search(), status), severity);
+            if (project != null) {
+                Project owner = Repositories.projects().findByUuid(project, EnumSet.noneOf(ProjectChild.class));
+                if (owner == null) {
+                    return Response.status(404).entity("{\"error\":\"Project not found\"}").build();
+                }
+                search.within(owner.getIssueUUIDs());
+            }
+            List<Issue> issues = Repositories.issues().search(search);
+            return Conditional.ok(FragmentCache.list(issues, "issue", Issue::getIssueUUID, Repositories.issues()::getKnownRevision,
+                    revision, Repositories.issues()::getRevision, SerializationRegistry.writer(Issue.class, FilterSet.NONE)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         } catch (IOException e) {
             e.printStackTrace();
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
@@ -48,25 +113,28 @@ public class IssueResource {
     /**
      * Gets an issue from the JSON file based on the uuid.
      *
-     * @param uuid the uuid of the issue
+     * @param uuid    the uuid of the issue
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return the issue
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/{uuid}")
-    public Response getSingleIssueByUUID(@PathParam("uuid") String uuid) {
+    public Response getSingleIssueByUUID(@PathParam("uuid") String uuid, @Context Request request) {
         try {
-            Issue issue = new IssueDataHandler().readIssueByUUID(uuid);
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+            Revision revision = Repositories.issues().getRevision(uuid);
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            Issue issue = Repositories.issues().findByUuid(uuid);
             if (issue == null) {
                 return Response.status(404).entity("{\"error\":\"Issue not found\"}").build();
             }
 
-            return Response.status(200).entity(objectMapper.writeValueAsString(issue)).build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+            return Conditional.ok(FragmentCache.single(issue, "issue", uuid, revision, () -> Repositories.issues().getRevision(uuid), SerializationRegistry.writer(Issue.class, FilterSet.NONE)), revision);
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         }
     }
@@ -81,8 +149,11 @@ public class IssueResource {
     @Produces(MediaType.TEXT_PLAIN)
     @Path("/create")
     public Response insertIssue(@Valid @BeanParam Issue issue) {
-        DataHandlerGen<Issue> dh = new DataHandlerGen<>(Issue.class);
-        dh.insertIntoJson(issue, "issueJSON");
+        try {
+            Repositories.issues().insert(issue);
+        } catch (IOException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
 
         return Response
                 .status(200)
@@ -90,6 +161,21 @@ public class IssueResource {
                 .build();
     }
 
+    /**
+     * This method creates many issues at once from a JSON array with the fields of the issues.
+     * All valid issues are written with one write.
+     *
+     * @param body the JSON array of the issues
+     * @return the result for every issue
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces("application/json")
+    @Path("/bulk")
+    public Response insertIssues(String body) {
+        return BulkInsert.insert(body, Issue.class, Repositories.issues(), Issue::getIssueUUID, (issue, element) -> null, "Issue");
+    }
+
     /**
      * This method deletes an issue from the json file based on the uuid.
      *
@@ -102,9 +188,9 @@ public class IssueResource {
     @Path("/delete/{uuid}")
     public Response deleteIssueByUUID(@PathParam("uuid") String uuid) {
         try {
-            new IssueDataHandler().deleteSingleFromJson("issueJSON", "issueUUID", uuid);
+            Repositories.issues().delete(uuid);
             return Response.status(200).entity("{\"success\":\"Issue deleted\"}").build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         } catch (IllegalArgumentException e) {
             return Response.status(404).entity("{\"error\":\"Issue not found\"}").build();
@@ -118,16 +204,14 @@ public class IssueResource {
      * @param issue the issue to be updated
      * @return a response based on if the issue was updated or not
      * @throws IOException            if the json file cannot be read
-     * @throws NoSuchFieldException   if the field cannot be found
-     * @throws IllegalAccessException if the fields cannot be accessed
      * @author Alyssa Heimlicher
      */
     @PUT
     @Produces("application/json")
     @Path("/update/{uuid}")
-    public Response updateIssue(@PathParam("uuid") String uuid, @Valid @BeanParam Issue issue) throws IOException, NoSuchFieldException, IllegalAccessException {
+    public Response updateIssue(@PathParam("uuid") String uuid, @Valid @BeanParam Issue issue) throws IOException {
         boolean changed = false;
-        Issue toBeUpdatedIssue = new IssueDataHandler().readIssueByUUID(uuid);
+        Issue toBeUpdatedIssue = Repositories.issues().findByUuid(uuid);
         if (toBeUpdatedIssue == null) {
             return Response.status(404).entity("{\"error\":\"Issue not found\"}").build();
         }
@@ -154,7 +238,7 @@ public class IssueResource {
 
 
         if (changed) {
-            new IssueDataHandler().updateSingleFromJson("issueJSON", "issueUUID", uuid, toBeUpdatedIssue);
+            Repositories.issues().update(uuid, toBeUpdatedIssue);
             return Response.status(200).entity("{\"success\":\"Issue updated\"}").build();
         }
 
@@ -0,0 +1,72 @@
+package com.example.projecttracker.services;
+
+import com.example.projecttracker.Config;
+import com.example.projecttracker.data.Page;
+
+/**
+ * The parameters limit, sort and cursor of the list endpoints. Without them a list endpoint sends all records,
+ * like it always did. With one of them it sends a page, sorted by sort (default uuid):
+ * {@code {"items":[...],"nextCursor":"..."}}. The next page is asked for with cursor=nextCursor and the same sort,
+ * nextCursor is null on the last page. The default and the maximum limit are set with pageLimit and pageMaxLimit.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see Page
+ * @since 2026-10-17
+ */
+public final class Paging {
+    /**
+     * The number of records of a page if there is no limit
+     */
+    private static final int DEFAULT_LIMIT = Math.max(1, Config.getIntProperty("pageLimit", 50));
+
+    /**
+     * The maximum number of records of a page
+     */
+    private static final int MAX_LIMIT = Math.max(DEFAULT_LIMIT, Config.getIntProperty("pageMaxLimit", 1000));
+
+    /**
+     * No instances, only static methods.
+     */
+    private Paging() {
+    }
+
+    /**
+     * Checks if a page is asked for.
+     *
+     * @param limit  the parameter limit
+     * @param sort   the parameter sort
+     * @param cursor the parameter cursor
+     * @return true if one of the parameters is there
+     */
+    public static boolean requested(Integer limit, String sort, String cursor) {
+        return limit != null || sort != null || cursor != null;
+    }
+
+    /**
+     * Gets the field to sort by.
+     *
+     * @param sort the parameter sort
+     * @return the field, uuid if there is none
+     */
+    public static String sort(String sort) {
+        return sort == null || sort.isEmpty() ? "uuid" : sort;
+    }
+
+    /**
+     * Gets the number of records of a page.
+     *
+     * @param limit the parameter limit
+     * @return the limit, at most pageMaxLimit
+     * @throws IllegalArgumentException when the limit is smaller than 1
+     */
+    public static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("The limit must be at least 1");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -1,18 +1,20 @@
 package com.example.projecttracker.services;
 
-import com.example.projecttracker.data.DataHandlerGen;
-import com.example.projecttracker.data.PatchnoteDataHandler;
+import com.example.projecttracker.data.Page;
+import com.example.projecttracker.data.Repositories;
+import com.example.projecttracker.data.Revisions.Revision;
 import com.example.projecttracker.model.PatchNote;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -27,20 +29,35 @@ public class PatchNoteResource {
 
     /**
      * Gets all patch notes from the json file.
+     * With limit, sort or cursor only a page is sent, see {@link Paging}.
      *
+     * @param limit   the maximum number of patch notes of the page
+     * @param sort    the field to sort by, e.g. title or date (default: uuid)
+     * @param cursor  the nextCursor of the page before
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return A list of all patch notes.
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/list")
-    public Response getAllPatchNotes() {
+    public Response getAllPatchNotes(@QueryParam("limit") Integer limit, @QueryParam("sort") String sort, @QueryParam("cursor") String cursor, @Context Request request) {
         try {
-            ArrayList<PatchNote> patchNotes = new DataHandlerGen<>(PatchNote.class).getArrayListOutOfJSON("patchNoteJSON");
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-            return Response.status(200).entity(objectMapper.writeValueAsString(patchNotes)).build();
+            Revision revision = Repositories.patchNotes().getRevision();
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            if (Paging.requested(limit, sort, cursor)) {
+                Page<PatchNote> page = Repositories.patchNotes().findPage(Paging.sort(sort), cursor, Paging.limit(limit));
+                return Conditional.ok(FragmentCache.page(page, "patchNote", PatchNote::getPatchNoteUUID, Repositories.patchNotes()::getKnownRevision,
+                        revision, Repositories.patchNotes()::getRevision, SerializationRegistry.writer(PatchNote.class, FilterSet.NONE)), revision);
+            }
+            List<PatchNote> patchNotes = Repositories.patchNotes().findAll();
+            return Conditional.ok(FragmentCache.list(patchNotes, "patchNote", PatchNote::getPatchNoteUUID, Repositories.patchNotes()::getKnownRevision,
+                    revision, Repositories.patchNotes()::getRevision, SerializationRegistry.writer(PatchNote.class, FilterSet.NONE)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         } catch (IOException e) {
             e.printStackTrace();
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
@@ -50,25 +67,28 @@ public class PatchNoteResource {
     /**
      * gets a patch note by its uuid.
      *
-     * @param uuid the uuid of the patch note.
+     * @param uuid    the uuid of the patch note.
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return the patch note.
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/{uuid}")
-    public Response getSinglePatchNoteByID(@PathParam("uuid") String uuid) {
+    public Response getSinglePatchNoteByID(@PathParam("uuid") String uuid, @Context Request request) {
         try {
-            PatchNote patchNote = new PatchnoteDataHandler().readPatchNoteByUUID(uuid);
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+            Revision revision = Repositories.patchNotes().getRevision(uuid);
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            PatchNote patchNote = Repositories.patchNotes().findByUuid(uuid);
             if (patchNote == null) {
                 return Response.status(404).entity("{\"error\":\"PatchNote not found\"}").build();
             }
 
-            return Response.status(200).entity(objectMapper.writeValueAsString(patchNote)).build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+            return Conditional.ok(FragmentCache.single(patchNote, "patchNote", uuid, revision, () -> Repositories.patchNotes().getRevision(uuid), SerializationRegistry.writer(PatchNote.class, FilterSet.NONE)), revision);
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         }
     }
@@ -84,7 +104,11 @@ public class PatchNoteResource {
     @Produces(MediaType.TEXT_PLAIN)
     @Path("/create")
     public Response createPatchNote(@Valid @BeanParam PatchNote patchNote) {
-        new PatchnoteDataHandler().insertIntoJson(patchNote, "patchNoteJSON");
+        try {
+            Repositories.patchNotes().insert(patchNote);
+        } catch (IOException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
 
         return Response
                 .status(200)
@@ -92,6 +116,21 @@ public class PatchNoteResource {
                 .build();
     }
 
+    /**
+     * This method creates many patch notes at once from a JSON array with the fields of the patch notes.
+     * All valid patch notes are written with one write.
+     *
+     * @param body the JSON array of the patch notes
+     * @return the result for every patch note
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces("application/json")
+    @Path("/bulk")
+    public Response createPatchNotes(String body) {
+        return BulkInsert.insert(body, PatchNote.class, Repositories.patchNotes(), PatchNote::getPatchNoteUUID, (patchNote, element) -> null, "PatchNote");
+    }
+
     /**
      * This method deletes a patchNote from the json file by its uuid.
      *
@@ -104,9 +143,9 @@ public class PatchNoteResource {
     @Path("/delete/{uuid}")
     public Response deletePatchNoteByUUID(@PathParam("uuid") String uuid) {
         try {
-            new PatchnoteDataHandler().deleteSingleFromJson("patchNoteJSON", "patchNoteUUID", uuid);
+            Repositories.patchNotes().delete(uuid);
             return Response.status(200).entity("{\"success\":\"PatchNote deleted\"}").build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         } catch (IllegalArgumentException e) {
             return Response.status(404).entity("{\"error\":\"PatchNote not found\"}").build();
@@ -120,16 +159,14 @@ public class PatchNoteResource {
      * @param patchNote the patch note to be updated.
      * @return a response with the status code
      * @throws IOException            if the json file cannot be read.
-     * @throws NoSuchFieldException   if the field is not found.
-     * @throws IllegalAccessException if the file is not accessible.
      * @author Alyssa Heimlicher
      */
     @PUT
     @Produces("application/json")
     @Path("/update/{uuid}")
-    public Response updatePatchNote(@PathParam("uuid") String uuid, @Valid @BeanParam PatchNote patchNote) throws IOException, NoSuchFieldException, IllegalAccessException {
+    public Response updatePatchNote(@PathParam("uuid") String uuid, @Valid @BeanParam PatchNote patchNote) throws IOException {
         boolean changed = false;
-        PatchNote toBeUpdatedPatchNote = new PatchnoteDataHandler().readPatchNoteByUUID(uuid);
+        PatchNote toBeUpdatedPatchNote = Repositories.patchNotes().findByUuid(uuid);
         if (toBeUpdatedPatchNote == null) {
             return Response.status(404).entity("{\"error\":\"PatchNote not found\"}").build();
         }
@@ -150,7 +187,7 @@ public class PatchNoteResource {
         }
 
         if (changed) {
-            new PatchnoteDataHandler().updateSingleFromJson("patchNoteJSON", "patchNoteUUID", uuid, toBeUpdatedPatchNote);
+            Repositories.patchNotes().update(uuid, toBeUpdatedPatchNote);
             return Response.status(200).entity("{\"success\":\"PatchNote updated\"}").build();
         }
 
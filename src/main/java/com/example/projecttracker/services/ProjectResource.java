@@ -1,21 +1,24 @@
 package com.example.projecttracker.services;
 
-import com.example.projecttracker.data.ProjectDatahandler;
-import com.example.projecttracker.data.UserDataHandler;
+import com.example.projecttracker.data.Page;
+import com.example.projecttracker.data.Repositories;
+import com.example.projecttracker.data.Revisions.Revision;
+import com.example.projecttracker.data.UserIdentityMap;
 import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
 import com.example.projecttracker.model.User;
-import com.example.projecttracker.util.ToJson;
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.example.projecttracker.util.SerializationRegistry;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This class is used to handle the requests for the project class.
@@ -29,19 +32,44 @@ public class ProjectResource {
 
     /**
      * This method is used to get all the projects from the json file.
+     * Only the children in expand are loaded and sent, of the others only the uuids are sent.
+     * With limit, sort or cursor only a page is sent, see {@link Paging}.
      *
+     * @param expand  the children to send, e.g. tasks,issues,patchNotes (default: none)
+     * @param limit   the maximum number of projects of the page
+     * @param sort    the field to sort by, e.g. title or startDate (default: uuid)
+     * @param cursor  the nextCursor of the page before
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return an arraylist of projects
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/list")
-    public Response getAllProjects() {
+    public Response getAllProjects(@QueryParam("expand") String expand, @QueryParam("limit") Integer limit,
+                                   @QueryParam("sort") String sort, @QueryParam("cursor") String cursor, @Context Request request) {
         try {
-            ArrayList<Project> projects = new ProjectDatahandler().getArrayListOutOfJSON();
+            Set<ProjectChild> children = ProjectChild.parse(expand);
+            Revision childrenRevision = Repositories.projects().getChildrenRevision(children);
+            Revision revision = Repositories.projects().getRevision().and(childrenRevision);
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            if (Paging.requested(limit, sort, cursor)) {
+                Page<Project> page = Repositories.projects().findPage(Paging.sort(sort), cursor, Paging.limit(limit), children);
+                return Conditional.ok(FragmentCache.page(page, FragmentCache.projectVariant(children), Project::getProjectUUID,
+                        projectUUID -> Repositories.projects().getKnownRevision(projectUUID).and(childrenRevision),
+                        revision, () -> Repositories.projects().getRevision(children), SerializationRegistry.projectWriter(children)), revision);
+            }
+            List<Project> projects = Repositories.projects().findAll(children);
 
-            return Response.status(200).entity(ToJson.toJson(projects, getFilterProvider())).build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+            return Conditional.ok(FragmentCache.list(projects, FragmentCache.projectVariant(children), Project::getProjectUUID,
+                    projectUUID -> Repositories.projects().getKnownRevision(projectUUID).and(childrenRevision),
+                    revision, () -> Repositories.projects().getRevision(children), SerializationRegistry.projectWriter(children)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        } catch (IOException e) {
             e.printStackTrace();
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         }
@@ -49,23 +77,35 @@ public class ProjectResource {
 
     /**
      * This method is used to get a specific project from the json file based on the uuid.
+     * Only the children in expand are loaded and sent, of the others only the uuids are sent.
      *
-     * @param uuid the uuid of the project
+     * @param uuid    the uuid of the project
+     * @param expand  the children to send, e.g. tasks,issues,patchNotes (default: none)
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return a project with the uuid
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/{uuid}")
-    public Response getSingleProjectByID(@PathParam("uuid") String uuid) {
+    public Response getSingleProjectByID(@PathParam("uuid") String uuid, @QueryParam("expand") String expand, @Context Request request) {
         try {
-            Project project = new ProjectDatahandler().getSingleFromJsonArray(uuid);
+            Set<ProjectChild> children = ProjectChild.parse(expand);
+            Revision revision = Repositories.projects().getRevision(uuid, children);
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            Project project = Repositories.projects().findByUuid(uuid, children);
 
             if (project == null) {
                 return Response.status(404).entity("{\"error\":\"Project not found\"}").build();
             }
-            return Response.status(200).entity(ToJson.toJson(project, getFilterProvider())).build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+            return Conditional.ok(FragmentCache.single(project, FragmentCache.projectVariant(children), uuid, revision,
+                    () -> Repositories.projects().getRevision(uuid, children), SerializationRegistry.projectWriter(children)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         }
     }
@@ -85,13 +125,13 @@ public class ProjectResource {
         try {
             LocalDate startDateLocal = LocalDate.parse(project.getTempStartDate());
             project.setStartDate(startDateLocal);
-            User user = new UserDataHandler().readUserByUserUUID(project.getUserid());
+            User user = UserIdentityMap.resolve(project.getUserid());
             if (user == null) {
                 return Response.status(404).entity("{\"error\":\"User not found\"}").build();
             }
             project.setUser(user);
-            new ProjectDatahandler().insertIntoJson(project, "projectJSON");
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+            Repositories.projects().insert(project);
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         }
 
@@ -101,6 +141,35 @@ public class ProjectResource {
                 .build();
     }
 
+    /**
+     * This method creates many projects at once from a JSON array with the fields of the projects.
+     * All valid projects are written with one write.
+     *
+     * @param body the JSON array of the projects
+     * @return the result for every project
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces("application/json")
+    @Path("/bulk")
+    public Response createProjects(String body) {
+        return BulkInsert.insert(body, Project.class, Repositories.projects(), Project::getProjectUUID, (project, element) -> {
+            if (project.getStartDate() != null) {
+                project.setTempStartDate(project.getStartDate().toString());
+            }
+            project.setUserid(element.path("userUUID").asText(null));
+            if (project.getUserid() == null) {
+                return null;
+            }
+            User user = UserIdentityMap.resolve(project.getUserid());
+            if (user == null) {
+                return "User not found";
+            }
+            project.setUser(user);
+            return null;
+        }, "Project");
+    }
+
     /**
      * This method deletes a project from the json file by its uuid.
      *
@@ -113,19 +182,19 @@ public class ProjectResource {
     @Path("/delete/{uuid}")
     public Response deleteProjectByUUID(@PathParam("uuid") String uuid) {
         try {
-            Project project = new ProjectDatahandler().getSingleFromJsonArray(uuid);
+            Project project = Repositories.projects().findByUuid(uuid);
 
             if (project == null) {
                 return projectNotFound();
             }
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+        } catch (IOException e) {
             return projectNotFound();
         }
 
         try {
-            new ProjectDatahandler().deleteSingleFromJson(uuid);
+            Repositories.projects().delete(uuid);
             return Response.status(200).entity("{\"success\":\"Project deleted\"}").build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+        } catch (IOException e) {
             e.printStackTrace();
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         } catch (IllegalArgumentException e) {
@@ -148,17 +217,15 @@ public class ProjectResource {
      * @param project the project to be updated
      * @return a response with the status code
      * @throws IOException if the json file is not found
-     * @throws NoSuchFieldException if the field is not found
-     * @throws IllegalAccessException if the field is not accessible
      *
      * @author Alyssa Heimlicher
      */
     @PUT
     @Produces("application/json")
     @Path("/update/{uuid}")
-    public Response updateProject(@PathParam("uuid") String uuid, @Valid @BeanParam Project project) throws IOException, NoSuchFieldException, IllegalAccessException {
+    public Response updateProject(@PathParam("uuid") String uuid, @Valid @BeanParam Project project) throws IOException {
         boolean changed = false;
-        Project toBeUpdatedProject = new ProjectDatahandler().getSingleFromJsonArray(uuid);
+        Project toBeUpdatedProject = Repositories.projects().findByUuid(uuid);
         if (toBeUpdatedProject == null) {
             return projectNotFound();
         }
@@ -181,23 +248,10 @@ public class ProjectResource {
         }
 
         if (changed) {
-            new ProjectDatahandler().updateSingleFromJson("projectJSON", "projectUUID", uuid, toBeUpdatedProject);
+            Repositories.projects().update(uuid, toBeUpdatedProject);
             return Response.status(200).entity("{\"success\":\"Project updated\"}").build();
         }
         return Response.status(200).entity("{\"success\":\"No changes made\"}").build();
 
     }
-
-
-    /**
-     * This method returns the filter provider for the project with every filter in it
-     *
-     * @return the filter provider
-     * @author Alyssa Heimlicher
-     */
-    private FilterProvider getFilterProvider() {
-        return new SimpleFilterProvider()
-                .addFilter("ProjectFilter", SimpleBeanPropertyFilter.serializeAllExcept("patchNoteUUIDs", "taskUUIDs", "issueUUIDs", "userUUID"))
-                .addFilter("UserFilter", SimpleBeanPropertyFilter.serializeAll());
-    }
 }
@@ -0,0 +1,102 @@
+package com.example.projecttracker.services;
+
+import com.example.projecttracker.data.Search;
+import com.example.projecttracker.data.SearchKeys;
+import com.example.projecttracker.model.Status;
+import com.example.projecttracker.util.Constants;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The parameters of the search endpoints. Every parameter is optional, a search without parameters finds all records.
+ * A status is one of TODO, IN_PROGRESS and COMPLETED, a severity one of critical, major, minor and trivial
+ * (both ignore the case), a date is written as yyyy-MM-dd.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see Search
+ * @since 2026-10-17
+ */
+public final class SearchParams {
+    /**
+     * No instances, only static methods.
+     */
+    private SearchParams() {
+    }
+
+    /**
+     * Adds the parameter status to a search.
+     *
+     * @param search the search
+     * @param status the parameter status
+     * @return the search
+     * @throws IllegalArgumentException when the status is unknown
+     */
+    public static Search status(Search search, String status) {
+        if (status == null || status.isEmpty()) {
+            return search;
+        }
+        try {
+            return search.where("status", SearchKeys.status(Status.valueOf(status.toUpperCase(Locale.ROOT))));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status");
+        }
+    }
+
+    /**
+     * Adds the parameter severity to a search.
+     *
+     * @param search   the search
+     * @param severity the parameter severity
+     * @return the search
+     * @throws IllegalArgumentException when the severity is unknown
+     */
+    public static Search severity(Search search, String severity) {
+        if (severity == null || severity.isEmpty()) {
+            return search;
+        }
+        String key = SearchKeys.severity(severity);
+        if (!Arrays.asList(Constants.VALID_SEVERITIES).contains(key)) {
+            throw new IllegalArgumentException("Invalid severity");
+        }
+        return search.where("severity", key);
+    }
+
+    /**
+     * Adds a range of dates to a search. Both dates are included.
+     *
+     * @param search the search
+     * @param field  the sorted field of the dates
+     * @param from   the parameter with the first date
+     * @param to     the parameter with the last date
+     * @return the search
+     * @throws IllegalArgumentException when a date is invalid
+     */
+    public static Search dates(Search search, String field, String from, String to) {
+        if ((from == null || from.isEmpty()) && (to == null || to.isEmpty())) {
+            return search;
+        }
+        return search.between(field, date(from), date(to));
+    }
+
+    /**
+     * Gets the key of a date.
+     *
+     * @param date the parameter with the date
+     * @return the date as yyyy-MM-dd, null if there is none
+     * @throws IllegalArgumentException when the date is invalid
+     */
+    private static String date(String date) {
+        if (date == null || date.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date).toString();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date");
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.projecttracker.services;
+
+import com.example.projecttracker.data.Repositories;
+import com.example.projecttracker.data.Repository;
+import com.example.projecttracker.data.Revisions.Revision;
+import com.example.projecttracker.data.TextMatch;
+import com.example.projecttracker.model.Issue;
+import com.example.projecttracker.model.PatchNote;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The full-text search over the title and the description of the tasks, issues and patch notes.
+ * Every word of the query has to be found (the case is ignored), the best matches come first:
+ * {@code {"results":[{"type":"issue","score":0.84,"item":{...}}]}}.
+ * The words are looked up in an index that is kept up to date with every change, no records are scanned.
+ * <p>
+ * Every kind has its own index, so its BM25 scores depend on its own word counts and lengths and cannot be compared
+ * with the scores of another kind. Before the kinds are merged, the scores of every kind are divided by its best score,
+ * so the best match of every kind has the score 1 and the others are between 0 and 1.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see com.example.projecttracker.data.SearchKeys#textOf(Class)
+ * @since 2026-10-17
+ */
+@Path("/search")
+public class SearchResource {
+
+    /**
+     * Searches the tasks, issues and patch notes.
+     *
+     * @param q       the words to search for
+     * @param type    the kinds to search, task, issue or patchNote, separated by commas (default: all)
+     * @param project the uuid of the project the records belong to
+     * @param limit   the maximum number of results, see {@link Paging}
+     * @param request the request, for If-None-Match and If-Modified-Since
+     * @return the results, best first
+     */
+    @GET
+    @Produces("application/json")
+    public Response search(@QueryParam("q") String q, @QueryParam("type") String type, @QueryParam("project") String project,
+                           @QueryParam("limit") Integer limit, @Context Request request) {
+        try {
+            if (q == null || q.trim().isEmpty()) {
+                throw new IllegalArgumentException("The query cannot be empty");
+            }
+            Set<String> types = types(type);
+            int max = Paging.limit(limit);
+            Revision revision = Repositories.tasks().getRevision()
+                    .and(Repositories.issues().getRevision())
+                    .and(Repositories.patchNotes().getRevision());
+            if (project != null) {
+                revision = revision.and(Repositories.projects().getRevision(project));
+            }
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            Project owner = null;
+            if (project != null) {
+                owner = Repositories.projects().findByUuid(project, EnumSet.noneOf(ProjectChild.class));
+                if (owner == null) {
+                    return Response.status(404).entity("{\"error\":\"Project not found\"}").build();
+                }
+            }
+
+            List<Result> results = new ArrayList<>();
+            if (types.contains("task")) {
+                collect(results, "task", Repositories.tasks(), owner == null ? null : owner.getTaskUUIDs(), q, max,
+                        SerializationRegistry.writer(Task.class, FilterSet.NONE));
+            }
+            if (types.contains("issue")) {
+                collect(results, "issue", Repositories.issues(), owner == null ? null : owner.getIssueUUIDs(), q, max,
+                        SerializationRegistry.writer(Issue.class, FilterSet.NONE));
+            }
+            if (types.contains("patchNote")) {
+                collect(results, "patchNote", Repositories.patchNotes(), owner == null ? null : owner.getPatchNoteUUIDs(), q, max,
+                        SerializationRegistry.writer(PatchNote.class, FilterSet.NONE));
+            }
+            results.sort(Comparator.comparingDouble((Result result) -> result.score)
+                    .thenComparingDouble(result -> result.match.getScore()).reversed());
+            return Conditional.ok(toStream(results.subList(0, Math.min(max, results.size()))), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+
+    /**
+     * Gets the kinds to search.
+     *
+     * @param type the parameter type
+     * @return the kinds, all if there is no parameter
+     * @throws IllegalArgumentException when a kind is unknown
+     */
+    private static Set<String> types(String type) {
+        Set<String> types = new LinkedHashSet<>();
+        if (type == null || type.trim().isEmpty()) {
+            types.add("task");
+            types.add("issue");
+            types.add("patchNote");
+            return types;
+        }
+        for (String name : type.split(",")) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "task":
+                    types.add("task");
+                    break;
+                case "issue":
+                    types.add("issue");
+                    break;
+                case "patchnote":
+                    types.add("patchNote");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid type");
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Searches one kind of records and adds the matches to the results, with their scores divided by the best score.
+     *
+     * @param results    the results
+     * @param type       the kind of the records
+     * @param repository the repository of the records
+     * @param uuids      the uuids the records must be one of, null if any uuid is fine
+     * @param q          the words to search for
+     * @param limit      the maximum number of matches
+     * @param writer     the writer of a record, with its filters
+     * @param <T>        the type of the records
+     * @throws IOException when the records cannot be read
+     */
+    private static <T> void collect(List<Result> results, String type, Repository<T> repository, List<String> uuids, String q, int limit, ObjectWriter writer) throws IOException {
+        List<TextMatch<T>> matches = repository.searchText(q, uuids, limit);
+        if (matches.isEmpty()) {
+            return;
+        }
+        double best = matches.get(0).getScore();
+        for (TextMatch<T> match : matches) {
+            results.add(new Result(type, match, best > 0 ? match.getScore() / best : 1, writer));
+        }
+    }
+
+    /**
+     * Writes the results straight into the response.
+     *
+     * @param results the results, best first
+     * @return the entity of the response
+     */
+    private static StreamingOutput toStream(List<Result> results) {
+        return out -> {
+            // the container closes the stream of the response
+            try (JsonGenerator generator = SerializationRegistry.getMapper().getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("results");
+                for (Result result : results) {
+                    generator.writeStartObject();
+                    generator.writeStringField("type", result.type);
+                    generator.writeNumberField("score", result.score);
+                    generator.writeFieldName("item");
+                    result.writer.writeValue(generator, result.match.getRecord());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+    }
+
+    /**
+     * A match with its kind and the writer of its record
+     */
+    private static final class Result {
+        /**
+         * The kind of the record, e.g. "task"
+         */
+        private final String type;
+
+        /**
+         * The record with its score
+         */
+        private final TextMatch<?> match;
+
+        /**
+         * The score of the record divided by the best score of its kind, between 0 and 1
+         */
+        private final double score;
+
+        /**
+         * The writer of the record, with its filters
+         */
+        private final ObjectWriter writer;
+
+        /**
+         * Creates a result.
+         *
+         * @param type   the kind of the record
+         * @param match  the record with its score
+         * @param score  the score divided by the best score of the kind
+         * @param writer the writer of the record
+         */
+        private Result(String type, TextMatch<?> match, double score, ObjectWriter writer) {
+            this.type = type;
+            this.match = match;
+            this.score = score;
+            this.writer = writer;
+        }
+    }
+}
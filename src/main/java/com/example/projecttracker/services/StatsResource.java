@@ -0,0 +1,122 @@
+package com.example.projecttracker.services;
+
+import com.example.projecttracker.data.DataHandlerGen;
+import com.example.projecttracker.data.GroupCommitWriter;
+import com.example.projecttracker.data.ProjectJoinLoader;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+import com.example.projecttracker.util.TinyLfuCache;
+import com.example.projecttracker.util.ToJson;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is used to show how the data layer is doing, e.g. how well the caches work, how big the write batches are and how long the project loads take.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Path("/stats")
+public class StatsResource {
+
+    /**
+     * Gets the size, hits, misses and evictions of the cache of the responses (see {@link FragmentCache}).
+     *
+     * @return the statistics under "responses"
+     */
+    @GET
+    @Produces("application/json")
+    @Path("/cache")
+    public Response getCacheStats() {
+        Map<String, Map<String, Number>> stats = new LinkedHashMap<>();
+        stats.put("responses", cacheStats(FragmentCache.getCache()));
+
+        try {
+            return Response.status(200).entity(ToJson.toJson(stats, FilterSet.NONE)).build();
+        } catch (JsonProcessingException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+
+    /**
+     * Gets the size, hits, misses and evictions of a cache.
+     *
+     * @param cache the cache
+     * @return the statistics
+     */
+    private static Map<String, Number> cacheStats(TinyLfuCache<String, ?> cache) {
+        Map<String, Number> cacheStats = new LinkedHashMap<>();
+        cacheStats.put("maximumSize", cache.getMaximumSize());
+        cacheStats.put("size", cache.size());
+        cacheStats.put("hits", cache.getHits());
+        cacheStats.put("misses", cache.getMisses());
+        cacheStats.put("evictions", cache.getEvictions());
+        return cacheStats;
+    }
+
+    /**
+     * Gets the batch sizes of every writer.
+     *
+     * @return the statistics by the property name of the written JSON-file
+     */
+    @GET
+    @Produces("application/json")
+    @Path("/writes")
+    public Response getWriteStats() {
+        Map<String, Map<String, Number>> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, GroupCommitWriter<?>> entry : DataHandlerGen.getWriters().entrySet()) {
+            GroupCommitWriter<?> writer = entry.getValue();
+            Map<String, Number> writerStats = new LinkedHashMap<>();
+            writerStats.put("windowMillis", writer.getWindowMillis());
+            writerStats.put("maxBatch", writer.getMaxBatch());
+            writerStats.put("batches", writer.getBatches());
+            writerStats.put("changes", writer.getChanges());
+            writerStats.put("failedBatches", writer.getFailedBatches());
+            writerStats.put("averageBatchSize", writer.getAverageBatchSize());
+            writerStats.put("lastBatchSize", writer.getLastBatchSize());
+            writerStats.put("largestBatchSize", writer.getLargestBatchSize());
+            stats.put(entry.getKey(), writerStats);
+        }
+
+        try {
+            return Response.status(200).entity(ToJson.toJson(stats, FilterSet.NONE)).build();
+        } catch (JsonProcessingException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+
+    /**
+     * Gets the time of every stage of the project loads.
+     *
+     * @return the statistics by the name of the stage, with the parallelism of the loads
+     */
+    @GET
+    @Produces("application/json")
+    @Path("/joins")
+    public Response getJoinStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("parallelism", ProjectJoinLoader.getParallelism());
+        stats.put("virtualThreads", ProjectJoinLoader.usesVirtualThreads());
+        for (Map.Entry<String, ProjectJoinLoader.StageTimer> entry : ProjectJoinLoader.getStageTimers().entrySet()) {
+            ProjectJoinLoader.StageTimer timer = entry.getValue();
+            Map<String, Number> stageStats = new LinkedHashMap<>();
+            stageStats.put("count", timer.getCount());
+            stageStats.put("averageMillis", timer.getAverageMillis());
+            stageStats.put("lastMillis", timer.getLastMillis());
+            stageStats.put("maxMillis", timer.getMaxMillis());
+            stats.put(entry.getKey(), stageStats);
+        }
+
+        try {
+            return Response.status(200).entity(ToJson.toJson(stats, FilterSet.NONE)).build();
+        } catch (JsonProcessingException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.projecttracker.services;
 
-import com.example.projecttracker.data.DataHandlerGen;
-import com.example.projecttracker.data.TaskDataHandler;
+import com.example.projecttracker.data.Page;
+import com.example.projecttracker.data.Repositories;
+import com.example.projecttracker.data.Revisions;
+import com.example.projecttracker.data.Revisions.Revision;
+import com.example.projecttracker.data.Search;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
 import com.example.projecttracker.model.Task;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 
 
 /**
@@ -28,20 +35,140 @@ public class TaskResource {
 
     /**
      * This method gets all tasks from the json file.
+     * With limit, sort or cursor only a page is sent, see {@link Paging}.
      *
+     * @param limit   the maximum number of tasks of the page
+     * @param sort    the field to sort by, e.g. title or deadline (default: uuid)
+     * @param cursor  the nextCursor of the page before
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return an arraylist of tasks
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/list")
-    public Response getAllTasks() {
+    public Response getAllTasks(@QueryParam("limit") Integer limit, @QueryParam("sort") String sort, @QueryParam("cursor") String cursor, @Context Request request) {
         try {
-            ArrayList<Task> tasks = new TaskDataHandler().getArrayListOutOfJSON();
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-            return Response.status(200).entity(objectMapper.writeValueAsString(tasks)).build();
+            Revision revision = Repositories.tasks().getRevision();
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            if (Paging.requested(limit, sort, cursor)) {
+                Page<Task> page = Repositories.tasks().findPage(Paging.sort(sort), cursor, Paging.limit(limit));
+                return Conditional.ok(FragmentCache.page(page, "task", Task::getTaskUUID, Repositories.tasks()::getKnownRevision,
+                        revision, Repositories.tasks()::getRevision, SerializationRegistry.writer(Task.class, FilterSet.NONE)), revision);
+            }
+            List<Task> tasks = Repositories.tasks().findAll();
+            return Conditional.ok(FragmentCache.list(tasks, "task", Task::getTaskUUID, Repositories.tasks()::getKnownRevision,
+                    revision, Repositories.tasks()::getRevision, SerializationRegistry.writer(Task.class, FilterSet.NONE)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+
+    /**
+     * This method searches the tasks through the indexes, only the tasks that meet the conditions are looked at.
+     * All parameters are optional, see {@link SearchParams}.
+     *
+     * @param status       the status of the tasks, e.g. IN_PROGRESS
+     * @param deadlineFrom the first deadline, yyyy-MM-dd
+     * @param deadlineTo   the last deadline, yyyy-MM-dd
+     * @param project      the uuid of the project of the tasks
+     * @param request      the request, for If-None-Match and If-Modified-Since
+     * @return the tasks that meet all conditions
+     */
+    @GET
+    @Produces("application/json")
+    @Path("/search")
+    public Response searchTasks(@QueryParam("status") String status, @QueryParam("deadlineFrom") String deadlineFrom,
+                                @QueryParam("deadlineTo") String deadlineTo, @QueryParam("project") String project, @Context Request request) {
+        try {
+            Revision revision = Repositories.tasks().getRevision();
+            if (project != null) {
+                revision = revision.and(Repositories.projects().getRevision(project));
+            }
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            Search search = SearchParams.dates(SearchParams.status(new Search(), status), "deadline", deadlineFrom, deadlineTo);
+            if (project != null) {
+                Project owner = Repositories.projects().findByUuid(project, EnumSet.noneOf(ProjectChild.class));
+                if (owner == null) {
+                    return Response.status(404).entity("{\"error\":\"Project not found\"}").build();
+                }
+                search.within(owner.getTaskUUIDs());
+            }
+            List<Task> tasks = Repositories.tasks().search(search);
+            return Conditional.ok(FragmentCache.list(tasks, "task", Task::getTaskUUID, Repositories.tasks()::getKnownRevision,
+                    revision, Repositories.tasks()::getRevision, SerializationRegistry.writer(Task.class, FilterSet.NONE)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+
+    /**
+     * This method gets the tasks with a deadline in a range, sorted by the deadline.
+     * Only the tasks in the range are looked at. Both dates are included and optional.
+     *
+     * @param after   the first deadline, yyyy-MM-dd
+     * @param before  the last deadline, yyyy-MM-dd
+     * @param request the request, for If-None-Match and If-Modified-Since
+     * @return the tasks with a deadline in the range
+     */
+    @GET
+    @Produces("application/json")
+    @Path("/due")
+    public Response getDueTasks(@QueryParam("after") String after, @QueryParam("before") String before, @Context Request request) {
+        try {
+            Revision revision = Repositories.tasks().getRevision();
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            // without dates all tasks with a deadline
+            Search search = new Search().between("deadline", null, null);
+            List<Task> tasks = Repositories.tasks().search(SearchParams.dates(search, "deadline", after, before));
+            return Conditional.ok(FragmentCache.list(tasks, "task", Task::getTaskUUID, Repositories.tasks()::getKnownRevision,
+                    revision, Repositories.tasks()::getRevision, SerializationRegistry.writer(Task.class, FilterSet.NONE)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+
+    /**
+     * This method gets the tasks that are not completed and whose deadline is in the past, sorted by the deadline.
+     * Only the open tasks with a past deadline are looked at, see the sort key openDeadline. The ETag changes at midnight too.
+     *
+     * @param request the request, for If-None-Match and If-Modified-Since
+     * @return the overdue tasks
+     */
+    @GET
+    @Produces("application/json")
+    @Path("/overdue")
+    public Response getOverdueTasks(@Context Request request) {
+        try {
+            LocalDate today = LocalDate.now();
+            Revision revision = Repositories.tasks().getRevision().and(Revisions.of(today));
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            // only the tasks that are not completed are in this range
+            Search search = new Search().between("openDeadline", null, today.minusDays(1).toString());
+            List<Task> tasks = Repositories.tasks().search(search);
+            return Conditional.ok(FragmentCache.list(tasks, "task", Task::getTaskUUID, Repositories.tasks()::getKnownRevision,
+                    revision, Repositories.tasks()::getRevision, SerializationRegistry.writer(Task.class, FilterSet.NONE)), revision);
         } catch (IOException e) {
             e.printStackTrace();
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
@@ -51,25 +178,28 @@ public class TaskResource {
     /**
      * This method gets a task from the json file by its uuid.
      *
-     * @param uuid the uuid of the task
+     * @param uuid    the uuid of the task
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return a task with the id
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/{uuid}")
-    public Response getSingleTaskByID(@PathParam("uuid") String uuid) {
+    public Response getSingleTaskByID(@PathParam("uuid") String uuid, @Context Request request) {
         try {
-            Task task = new TaskDataHandler().readTaskByUUID(uuid);
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+            Revision revision = Repositories.tasks().getRevision(uuid);
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            Task task = Repositories.tasks().findByUuid(uuid);
             if (task == null) {
                 return Response.status(404).entity("{\"error\":\"Task not found\"}").build();
             }
 
-            return Response.status(200).entity(objectMapper.writeValueAsString(task)).build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+            return Conditional.ok(FragmentCache.single(task, "task", uuid, revision, () -> Repositories.tasks().getRevision(uuid), SerializationRegistry.writer(Task.class, FilterSet.NONE)), revision);
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         }
     }
@@ -88,8 +218,11 @@ public class TaskResource {
     public Response insertTask(@Valid @BeanParam Task task) {
         LocalDate deadlineLocal = LocalDate.parse(task.getTempDate());
         task.setDeadline(deadlineLocal);
-        DataHandlerGen<Task> dh = new DataHandlerGen<>(Task.class);
-        dh.insertIntoJson(task, "taskJSON");
+        try {
+            Repositories.tasks().insert(task);
+        } catch (IOException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
 
         return Response
                 .status(200)
@@ -97,6 +230,26 @@ public class TaskResource {
                 .build();
     }
 
+    /**
+     * This method creates many tasks at once from a JSON array with the fields of the tasks.
+     * All valid tasks are written with one write.
+     *
+     * @param body the JSON array of the tasks
+     * @return the result for every task
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces("application/json")
+    @Path("/bulk")
+    public Response insertTasks(String body) {
+        return BulkInsert.insert(body, Task.class, Repositories.tasks(), Task::getTaskUUID, (task, element) -> {
+            if (task.getDeadline() != null) {
+                task.setTempDate(task.getDeadline().toString());
+            }
+            return null;
+        }, "Task");
+    }
+
     /**
      * This method deletes a task from the json file by its uuid.
      *
@@ -109,9 +262,9 @@ public class TaskResource {
     @Path("/delete/{uuid}")
     public Response deleteTaskByUUID(@PathParam("uuid") String uuid) {
         try {
-            new TaskDataHandler().deleteSingleFromJson("taskJSON", "taskUUID", uuid);
+            Repositories.tasks().delete(uuid);
             return Response.status(200).entity("{\"success\":\"Task deleted\"}").build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         } catch (IllegalArgumentException e) {
             return Response.status(404).entity("{\"error\":\"Task not found\"}").build();
@@ -125,16 +278,14 @@ public class TaskResource {
      * @param task the task to be updated
      * @return a response based on if the task was updated or not
      * @throws IOException if the json file cannot be read
-     * @throws NoSuchFieldException if the field cannot be found
-     * @throws IllegalAccessException if the file cannot be accessed
      * @author Alyssa Heimlicher
      */
     @PUT
     @Produces("application/json")
     @Path("/update/{uuid}")
-    public Response updateTask(@PathParam("uuid") String uuid, @Valid @BeanParam Task task) throws IOException, NoSuchFieldException, IllegalAccessException {
+    public Response updateTask(@PathParam("uuid") String uuid, @Valid @BeanParam Task task) throws IOException {
         boolean changed = false;
-        Task toBeUpdatedTask = new TaskDataHandler().readTaskByUUID(uuid);
+        Task toBeUpdatedTask = Repositories.tasks().findByUuid(uuid);
         if (toBeUpdatedTask == null) {
             return Response.status(404).entity("{\"error\":\"Task not found\"}").build();
         }
@@ -160,7 +311,7 @@ public class TaskResource {
         }
 
         if (changed) {
-            new TaskDataHandler().updateSingleFromJson("taskJSON", "taskUUID", uuid, toBeUpdatedTask);
+            Repositories.tasks().update(uuid, toBeUpdatedTask);
             return Response.status(200).entity("{\"success\":\"Task updated\"}").build();
         }
 
@@ -1,21 +1,23 @@
 package com.example.projecttracker.services;
 
-import com.example.projecttracker.data.DataHandlerGen;
-import com.example.projecttracker.data.ProjectDatahandler;
-import com.example.projecttracker.data.UserDataHandler;
+import com.example.projecttracker.data.Page;
+import com.example.projecttracker.data.Repositories;
+import com.example.projecttracker.data.Revisions.Revision;
 import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
 import com.example.projecttracker.model.User;
-import com.example.projecttracker.util.ToJson;
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This class is used to handle all requests to the user class.
@@ -29,18 +31,36 @@ public class UserResource {
 
     /**
      * This method is used to get all users from the json file.
+     * With limit, sort or cursor only a page is sent, see {@link Paging}.
      *
+     * @param limit   the maximum number of users of the page
+     * @param sort    the field to sort by, e.g. userName (default: uuid)
+     * @param cursor  the nextCursor of the page before
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return an arraylist of all users
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/list")
-    public Response getAllUsers() {
+    public Response getAllUsers(@QueryParam("limit") Integer limit, @QueryParam("sort") String sort, @QueryParam("cursor") String cursor, @Context Request request) {
         try {
-            ArrayList<User> users = new DataHandlerGen<>(User.class).getArrayListOutOfJSON("userJSON");
+            Revision revision = Repositories.users().getRevision();
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            if (Paging.requested(limit, sort, cursor)) {
+                Page<User> page = Repositories.users().findPage(Paging.sort(sort), cursor, Paging.limit(limit));
+                return Conditional.ok(FragmentCache.page(page, "user", User::getUserUUID, Repositories.users()::getKnownRevision,
+                        revision, Repositories.users()::getRevision, SerializationRegistry.writer(User.class, FilterSet.USER)), revision);
+            }
+            List<User> users = Repositories.users().findAll();
 
-            return Response.status(200).entity(ToJson.toJson(users, getFilterProvider())).build();
+            return Conditional.ok(FragmentCache.list(users, "user", User::getUserUUID, Repositories.users()::getKnownRevision,
+                    revision, Repositories.users()::getRevision, SerializationRegistry.writer(User.class, FilterSet.USER)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         } catch (IOException e) {
             e.printStackTrace();
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
@@ -50,22 +70,66 @@ public class UserResource {
     /**
      * This method is used to get a user from the json file by their uuid.
      *
-     * @param uuid the uuid of the user
+     * @param uuid    the uuid of the user
+     * @param request the request, for If-None-Match and If-Modified-Since
      * @return the user with the given uuid
      * @author Alyssa Heimlicher
      */
     @GET
     @Produces("application/json")
     @Path("/{uuid}")
-    public Response getSingleUserByUUID(@PathParam("uuid") String uuid) {
+    public Response getSingleUserByUUID(@PathParam("uuid") String uuid, @Context Request request) {
         try {
-            User user = new DataHandlerGen<>(User.class).getSingleFromJsonArray("userJSON", "userUUID", uuid);
+            Revision revision = Repositories.users().getRevision(uuid);
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            User user = Repositories.users().findByUuid(uuid);
             if (user == null) {
                 return Response.status(404).entity("{\"error\":\"User not found\"}").build();
             }
 
-            return Response.status(200).entity(ToJson.toJson(user, getFilterProvider())).build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+            return Conditional.ok(FragmentCache.single(user, "user", uuid, revision, () -> Repositories.users().getRevision(uuid), SerializationRegistry.writer(User.class, FilterSet.USER)), revision);
+        } catch (IOException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
+    }
+
+    /**
+     * This method is used to get the projects of a user, e.g. for a "my projects" view.
+     * The projects are looked up by their owner, without reading the other projects.
+     * Only the children in expand are loaded and sent, of the others only the uuids are sent.
+     *
+     * @param uuid    the uuid of the user
+     * @param expand  the children to send, e.g. tasks,issues,patchNotes (default: none)
+     * @param request the request, for If-None-Match and If-Modified-Since
+     * @return the projects of the user
+     */
+    @GET
+    @Produces("application/json")
+    @Path("/{uuid}/projects")
+    public Response getProjectsOfUser(@PathParam("uuid") String uuid, @QueryParam("expand") String expand, @Context Request request) {
+        try {
+            Set<ProjectChild> children = ProjectChild.parse(expand);
+            Revision childrenRevision = Repositories.projects().getChildrenRevision(children);
+            Revision revision = Repositories.projects().getRevision().and(childrenRevision);
+            Response notModified = Conditional.notModified(request, revision);
+            if (notModified != null) {
+                return notModified;
+            }
+            if (Repositories.users().findByUuid(uuid) == null) {
+                return Response.status(404).entity("{\"error\":\"User not found\"}").build();
+            }
+            List<Project> projects = Repositories.projects().findByUser(uuid, children);
+
+            return Conditional.ok(FragmentCache.list(projects, FragmentCache.projectVariant(children), Project::getProjectUUID,
+                    projectUUID -> Repositories.projects().getKnownRevision(projectUUID).and(childrenRevision),
+                    revision, () -> Repositories.projects().getRevision(children), SerializationRegistry.projectWriter(children)), revision);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        } catch (IOException e) {
+            e.printStackTrace();
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         }
     }
@@ -81,7 +145,11 @@ public class UserResource {
     @Produces(MediaType.TEXT_PLAIN)
     @Path("/create")
     public Response createPatchNote(@Valid @BeanParam User user) {
-        new UserDataHandler().insertIntoJson(user, "userJSON");
+        try {
+            Repositories.users().insert(user);
+        } catch (IOException e) {
+            return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        }
 
         return Response
                 .status(200)
@@ -102,13 +170,9 @@ public class UserResource {
     @Path("/delete/{uuid}")
     public Response deleteUserByUUID(@PathParam("uuid") String uuid) {
         try {
-            ArrayList<Project> projects = new ProjectDatahandler().getArrayListOutOfJSONByUserUUID(uuid);
-            for (Project project : projects) {
-                new ProjectDatahandler().deleteSingleFromJson(project.getProjectUUID());
-            }
-            new UserDataHandler().deleteSingleFromJson("userJSON", "userUUID", uuid);
+            Repositories.projects().deleteUser(uuid);
             return Response.status(200).entity("{\"success\":\"User deleted\"}").build();
-        } catch (IOException | NoSuchFieldException | IllegalAccessException e) {
+        } catch (IOException e) {
             return Response.status(500).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
         } catch (IllegalArgumentException e) {
             return Response.status(404).entity("{\"error\":\"User not found\"}").build();
@@ -122,16 +186,14 @@ public class UserResource {
      * @param user the user to be updated
      * @return a response depending on the success of the operation.
      * @throws IOException            if the json file cannot be found
-     * @throws NoSuchFieldException   if the field cannot be found
-     * @throws IllegalAccessException if the file cannot be accessed
      * @author Alyssa Heimlicher
      */
     @PUT
     @Produces("application/json")
     @Path("/update/{uuid}")
-    public Response updateUser(@PathParam("uuid") String uuid, @Valid @BeanParam User user) throws IOException, NoSuchFieldException, IllegalAccessException {
+    public Response updateUser(@PathParam("uuid") String uuid, @Valid @BeanParam User user) throws IOException {
         boolean changed = false;
-        User toBeUpdatedUser = new UserDataHandler().readUserByUserUUID(uuid);
+        User toBeUpdatedUser = Repositories.users().findByUuid(uuid);
 
         if (toBeUpdatedUser == null) {
             return Response.status(404).entity("{\"error\":\"User not found\"}").build();
@@ -148,21 +210,11 @@ public class UserResource {
         }
 
         if (changed) {
-            new UserDataHandler().updateSingleFromJson("userJSON", "userUUID", uuid, toBeUpdatedUser);
+            Repositories.users().update(uuid, toBeUpdatedUser);
             return Response.status(200).entity("{\"success\":\"User updated\"}").build();
         }
 
         return Response.status(200).entity("{\"success\":\"No changes made\"}").build();
 
     }
-
-    /**
-     * This method returns a filter provider for the user class.
-     *
-     * @return a filter provider for the user class
-     */
-    private FilterProvider getFilterProvider() {
-        return new SimpleFilterProvider()
-                .addFilter("UserFilter", SimpleBeanPropertyFilter.serializeAll());
-    }
 }
@@ -0,0 +1,419 @@
+package com.example.projecttracker.util;
+
+import com.example.projecttracker.model.Issue;
+import com.example.projecttracker.model.PatchNote;
+import com.example.projecttracker.model.Project;
+import com.example.projecttracker.model.ProjectChild;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.model.User;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the one ObjectMapper of the application and the readers and writers made from it.
+ * Readers and writers are immutable and thread-safe, so they are created once and shared by all requests.
+ * The JSON ones for the model classes are created when the class is loaded.
+ * <p>
+ * The collection files can also be stored in a binary format, see {@link DataFormat}.
+ * Every format has its own mapper, configured like the JSON one.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SerializationRegistry {
+    /**
+     * The filters that can be applied when writing.
+     */
+    public enum FilterSet {
+        /**
+         * No filters. Classes with a JsonFilter are written completely.
+         */
+        NONE(new SimpleFilterProvider().setFailOnUnknownId(false)),
+
+        /**
+         * Writes the whole user
+         */
+        USER(new SimpleFilterProvider()
+                .addFilter("UserFilter", SimpleBeanPropertyFilter.serializeAll())),
+
+        /**
+         * Writes a project the way it is stored in the JSON-file: with the uuid of the user instead of the user
+         */
+        PROJECT_STORAGE(new SimpleFilterProvider()
+                .addFilter("ProjectFilter", SimpleBeanPropertyFilter.serializeAllExcept("patchNoteUUIDs", "taskUUIDs", "issueUUIDs", "user"))
+                .addFilter("UserFilter", SimpleBeanPropertyFilter.serializeAll())),
+
+        /**
+         * Writes a project the way it is sent to the client: with the whole user
+         */
+        PROJECT_API(new SimpleFilterProvider()
+                .addFilter("ProjectFilter", SimpleBeanPropertyFilter.serializeAllExcept("patchNoteUUIDs", "taskUUIDs", "issueUUIDs", "userUUID"))
+                .addFilter("UserFilter", SimpleBeanPropertyFilter.serializeAll()));
+
+        /**
+         * The filter provider of the set
+         */
+        private final FilterProvider filterProvider;
+
+        /**
+         * Creates a filter set.
+         *
+         * @param filterProvider the filter provider of the set
+         */
+        FilterSet(FilterProvider filterProvider) {
+            this.filterProvider = filterProvider;
+        }
+
+        /**
+         * Gets the filter provider of the set.
+         *
+         * @return the filter provider
+         */
+        public FilterProvider getFilterProvider() {
+            return filterProvider;
+        }
+    }
+
+    /**
+     * The formats the collection files can be stored in.
+     */
+    public enum DataFormat {
+        /**
+         * Text JSON
+         */
+        JSON(new JsonFactory()),
+
+        /**
+         * Smile, binary JSON of Jackson
+         */
+        SMILE(new SmileFactory()),
+
+        /**
+         * CBOR (RFC 8949)
+         */
+        CBOR(new CBORFactory());
+
+        /**
+         * The mapper of the format
+         */
+        private final ObjectMapper mapper;
+
+        /**
+         * Creates a format.
+         *
+         * @param factory the factory of the parsers and generators of the format
+         */
+        DataFormat(JsonFactory factory) {
+            this.mapper = new ObjectMapper(factory)
+                    .registerModule(new JavaTimeModule())
+                    .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        }
+
+        /**
+         * Gets the mapper of the format. It must not be configured any further.
+         *
+         * @return the mapper
+         */
+        public ObjectMapper getMapper() {
+            return mapper;
+        }
+
+        /**
+         * Gets a format by its name.
+         *
+         * @param name the name, e.g. smile
+         * @return the format, JSON if the name is empty or unknown
+         */
+        public static DataFormat of(String name) {
+            for (DataFormat format : values()) {
+                if (format.name().equalsIgnoreCase(name.trim())) {
+                    return format;
+                }
+            }
+            return JSON;
+        }
+
+        /**
+         * Finds out the format of a file by its first bytes. The stream is reset to where it was.
+         * Smile starts with ":)\n", JSON with a bracket or whitespace and everything else is taken as CBOR.
+         *
+         * @param in the content of the file, must support mark
+         * @return the format of the content
+         * @throws IOException when the content cannot be read
+         */
+        public static DataFormat detect(InputStream in) throws IOException {
+            byte[] head = new byte[3];
+            in.mark(head.length);
+            int length = in.readNBytes(head, 0, head.length);
+            in.reset();
+            if (length == head.length && head[0] == ':' && head[1] == ')' && head[2] == '\n') {
+                return SMILE;
+            }
+            int first = length == 0 ? '[' : head[0] & 0xFF;
+            if (first == '[' || first == '{' || first == 0xEF || Character.isWhitespace(first)) {
+                return JSON;
+            }
+            return CBOR;
+        }
+    }
+
+    /**
+     * The one configured ObjectMapper for JSON
+     */
+    private static final ObjectMapper MAPPER = DataFormat.JSON.getMapper();
+
+    /**
+     * Readers for single objects of a class, by format
+     */
+    private static final Map<DataFormat, Map<Class<?>, ObjectReader>> READERS = new EnumMap<>(DataFormat.class);
+
+    /**
+     * Readers for lists of a class, by format
+     */
+    private static final Map<DataFormat, Map<Class<?>, ObjectReader>> LIST_READERS = new EnumMap<>(DataFormat.class);
+
+    /**
+     * Writers by format, filter set and type
+     */
+    private static final Map<DataFormat, Map<FilterSet, Map<JavaType, ObjectWriter>>> WRITERS = new EnumMap<>(DataFormat.class);
+
+    /**
+     * Writers of single projects for the client, by the expanded children
+     */
+    private static final Map<Set<ProjectChild>, ObjectWriter> PROJECT_WRITERS = new ConcurrentHashMap<>();
+
+    /**
+     * Writers of project lists for the client, by the expanded children
+     */
+    private static final Map<Set<ProjectChild>, ObjectWriter> PROJECT_LIST_WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        for (DataFormat format : DataFormat.values()) {
+            READERS.put(format, new ConcurrentHashMap<>());
+            LIST_READERS.put(format, new ConcurrentHashMap<>());
+            Map<FilterSet, Map<JavaType, ObjectWriter>> writers = new EnumMap<>(FilterSet.class);
+            for (FilterSet filterSet : FilterSet.values()) {
+                writers.put(filterSet, new ConcurrentHashMap<>());
+            }
+            WRITERS.put(format, writers);
+        }
+        for (Class<?> model : new Class<?>[]{Task.class, Issue.class, PatchNote.class, User.class, Project.class}) {
+            reader(model);
+            listReader(model);
+            writer(model, FilterSet.NONE);
+            listWriter(model, FilterSet.NONE);
+        }
+        writer(User.class, FilterSet.USER);
+        listWriter(User.class, FilterSet.USER);
+        for (FilterSet filterSet : new FilterSet[]{FilterSet.PROJECT_STORAGE, FilterSet.PROJECT_API}) {
+            writer(Project.class, filterSet);
+            listWriter(Project.class, filterSet);
+        }
+    }
+
+    /**
+     * Utility class, no instances.
+     */
+    private SerializationRegistry() {
+    }
+
+    /**
+     * Gets the shared ObjectMapper for JSON. It must not be configured any further.
+     *
+     * @return the ObjectMapper
+     */
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Gets the reader for a single object of a class.
+     *
+     * @param tClass the class of the object
+     * @return the reader
+     */
+    public static ObjectReader reader(Class<?> tClass) {
+        return reader(tClass, DataFormat.JSON);
+    }
+
+    /**
+     * Gets the reader for a single object of a class in a format.
+     *
+     * @param tClass the class of the object
+     * @param format the format to read
+     * @return the reader
+     */
+    public static ObjectReader reader(Class<?> tClass, DataFormat format) {
+        return READERS.get(format).computeIfAbsent(tClass, format.getMapper()::readerFor);
+    }
+
+    /**
+     * Gets the reader for an ArrayList of a class.
+     *
+     * @param tClass the class of the elements
+     * @return the reader
+     */
+    public static ObjectReader listReader(Class<?> tClass) {
+        return listReader(tClass, DataFormat.JSON);
+    }
+
+    /**
+     * Gets the reader for an ArrayList of a class in a format.
+     *
+     * @param tClass the class of the elements
+     * @param format the format to read
+     * @return the reader
+     */
+    public static ObjectReader listReader(Class<?> tClass, DataFormat format) {
+        ObjectMapper mapper = format.getMapper();
+        return LIST_READERS.get(format).computeIfAbsent(tClass,
+                c -> mapper.readerFor(mapper.getTypeFactory().constructCollectionType(ArrayList.class, c)));
+    }
+
+    /**
+     * Gets the writer for a single object of a class.
+     *
+     * @param tClass    the class of the object
+     * @param filterSet the filters to apply
+     * @return the writer
+     */
+    public static ObjectWriter writer(Class<?> tClass, FilterSet filterSet) {
+        return writer(MAPPER.constructType(tClass), filterSet);
+    }
+
+    /**
+     * Gets the writer for a list of a class.
+     *
+     * @param tClass    the class of the elements
+     * @param filterSet the filters to apply
+     * @return the writer
+     */
+    public static ObjectWriter listWriter(Class<?> tClass, FilterSet filterSet) {
+        return listWriter(tClass, filterSet, DataFormat.JSON);
+    }
+
+    /**
+     * Gets the writer for a list of a class in a format.
+     *
+     * @param tClass    the class of the elements
+     * @param filterSet the filters to apply
+     * @param format    the format to write
+     * @return the writer
+     */
+    public static ObjectWriter listWriter(Class<?> tClass, FilterSet filterSet, DataFormat format) {
+        return writer(MAPPER.getTypeFactory().constructCollectionType(ArrayList.class, tClass), filterSet, format);
+    }
+
+    /**
+     * Gets the writer for a type.
+     *
+     * @param type      the type to write
+     * @param filterSet the filters to apply
+     * @return the writer
+     */
+    public static ObjectWriter writer(JavaType type, FilterSet filterSet) {
+        return writer(type, filterSet, DataFormat.JSON);
+    }
+
+    /**
+     * Gets the writer for a type in a format.
+     *
+     * @param type      the type to write
+     * @param filterSet the filters to apply
+     * @param format    the format to write
+     * @return the writer
+     */
+    public static ObjectWriter writer(JavaType type, FilterSet filterSet, DataFormat format) {
+        return WRITERS.get(format).get(filterSet).computeIfAbsent(type,
+                t -> format.getMapper().writerFor(t).with(filterSet.getFilterProvider()));
+    }
+
+    /**
+     * Gets the writer for the runtime type of an object. Lists are written as lists of their first element's class.
+     *
+     * @param t         the object to write
+     * @param filterSet the filters to apply
+     * @return the writer
+     */
+    public static ObjectWriter writerForValue(Object t, FilterSet filterSet) {
+        if (t instanceof List && !((List<?>) t).isEmpty() && ((List<?>) t).get(0) != null) {
+            return listWriter(((List<?>) t).get(0).getClass(), filterSet);
+        }
+        return writer(t == null ? Object.class : t.getClass(), filterSet);
+    }
+
+    /**
+     * Gets the writer for a project that is sent to the client. The expanded children are written completely,
+     * the others only with their uuids (taskUUIDs, issueUUIDs, patchNoteUUIDs).
+     *
+     * @param expand the expanded children
+     * @return the writer
+     */
+    public static ObjectWriter projectWriter(Set<ProjectChild> expand) {
+        return PROJECT_WRITERS.computeIfAbsent(copyOf(expand),
+                e -> MAPPER.writerFor(Project.class).with(projectFilters(e)));
+    }
+
+    /**
+     * Gets the writer for a list of projects that is sent to the client, see {@link #projectWriter(Set)}.
+     *
+     * @param expand the expanded children
+     * @return the writer
+     */
+    public static ObjectWriter projectListWriter(Set<ProjectChild> expand) {
+        return PROJECT_LIST_WRITERS.computeIfAbsent(copyOf(expand),
+                e -> MAPPER.writerFor(MAPPER.getTypeFactory().constructCollectionType(ArrayList.class, Project.class))
+                        .with(projectFilters(e)));
+    }
+
+    /**
+     * Creates the filters of {@link FilterSet#PROJECT_API} for the expanded children.
+     *
+     * @param expand the expanded children
+     * @return the filters
+     */
+    private static FilterProvider projectFilters(Set<ProjectChild> expand) {
+        Set<String> except = new HashSet<>();
+        except.add("userUUID");
+        for (ProjectChild child : ProjectChild.values()) {
+            except.add(expand.contains(child) ? child.getUuidProperty() : child.getProperty());
+        }
+        return new SimpleFilterProvider()
+                .addFilter("ProjectFilter", SimpleBeanPropertyFilter.serializeAllExcept(except))
+                .addFilter("UserFilter", SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    /**
+     * Copies a set of children, so it can be used as key.
+     *
+     * @param expand the children
+     * @return the copy
+     */
+    private static Set<ProjectChild> copyOf(Set<ProjectChild> expand) {
+        Set<ProjectChild> copy = EnumSet.noneOf(ProjectChild.class);
+        copy.addAll(expand);
+        return copy;
+    }
+}
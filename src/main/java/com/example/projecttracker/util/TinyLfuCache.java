@@ -0,0 +1,372 @@
+package com.example.projecttracker.util;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded in-memory cache with W-TinyLFU eviction.
+ * New entries go into a small LRU window. When the window is full its oldest entry has to compete with the oldest
+ * entry of the main space, and only the one that was used more often (estimated with a count-min sketch) is kept.
+ * The main space is a segmented LRU with a probation and a protected part.
+ * <p>
+ * All methods are synchronized, so one instance can be shared between requests.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class TinyLfuCache<K, V> {
+    /**
+     * The maximum number of entries in the cache
+     */
+    private final int maximumSize;
+
+    /**
+     * The maximum number of entries in the window
+     */
+    private final int windowSize;
+
+    /**
+     * The maximum number of entries in the protected part of the main space
+     */
+    private final int protectedSize;
+
+    /**
+     * Recently added entries, oldest first
+     */
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>();
+
+    /**
+     * Entries of the main space that were used once since they were admitted, oldest first
+     */
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>();
+
+    /**
+     * Entries of the main space that were used again after they were admitted, oldest first
+     */
+    private final LinkedHashMap<K, V> protectedSpace = new LinkedHashMap<>();
+
+    /**
+     * Estimates how often a key was used
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Number of lookups that found an entry
+     */
+    private long hits;
+
+    /**
+     * Number of lookups that found nothing
+     */
+    private long misses;
+
+    /**
+     * Number of entries that were dropped because the cache was full
+     */
+    private long evictions;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize the maximum number of entries, 0 disables the cache
+     */
+    public TinyLfuCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.windowSize = Math.max(1, maximumSize / 100);
+        this.protectedSize = (int) ((maximumSize - windowSize) * 0.8);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Gets an entry and records the access.
+     *
+     * @param key the key of the entry
+     * @return the value or null if the key is not cached
+     */
+    public synchronized V get(K key) {
+        if (maximumSize == 0) {
+            misses++;
+            return null;
+        }
+        sketch.increment(key);
+
+        V value = window.remove(key);
+        if (value != null) {
+            window.put(key, value);
+        } else if ((value = probation.remove(key)) != null) {
+            promote(key, value);
+        } else if ((value = protectedSpace.remove(key)) != null) {
+            protectedSpace.put(key, value);
+        }
+
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Adds or replaces an entry. A new entry may be dropped again right away if it is used less than the entries
+     * already in the cache.
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     */
+    public synchronized void put(K key, V value) {
+        if (maximumSize == 0 || value == null) {
+            return;
+        }
+        sketch.increment(key);
+
+        if (window.containsKey(key)) {
+            window.remove(key);
+            window.put(key, value);
+        } else if (probation.containsKey(key)) {
+            probation.remove(key);
+            promote(key, value);
+        } else if (protectedSpace.containsKey(key)) {
+            protectedSpace.remove(key);
+            protectedSpace.put(key, value);
+        } else {
+            window.put(key, value);
+            if (window.size() > windowSize) {
+                Map.Entry<K, V> candidate = removeEldest(window);
+                admit(candidate.getKey(), candidate.getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param key the key of the entry
+     */
+    public synchronized void remove(K key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedSpace.remove(key);
+        }
+    }
+
+    /**
+     * Removes all entries. The statistics are kept.
+     */
+    public synchronized void clear() {
+        window.clear();
+        probation.clear();
+        protectedSpace.clear();
+    }
+
+    /**
+     * Gets the number of cached entries.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedSpace.size();
+    }
+
+    /**
+     * Gets the maximum number of entries.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the number of lookups that found an entry.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that found nothing.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of entries that were dropped because the cache was full.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Moves an entry into the protected part. If the protected part is full, its oldest entry goes back to probation.
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     */
+    private void promote(K key, V value) {
+        protectedSpace.put(key, value);
+        if (protectedSpace.size() > protectedSize) {
+            Map.Entry<K, V> demoted = removeEldest(protectedSpace);
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+    }
+
+    /**
+     * Lets an entry that left the window into the main space, if it is used more often than the entry it would replace.
+     *
+     * @param key   the key of the candidate
+     * @param value the value of the candidate
+     */
+    private void admit(K key, V value) {
+        if (probation.size() + protectedSpace.size() < maximumSize - windowSize) {
+            probation.put(key, value);
+            return;
+        }
+
+        evictions++;
+        Iterator<K> victims = probation.keySet().iterator();
+        if (!victims.hasNext()) {
+            return;
+        }
+        K victim = victims.next();
+        if (sketch.frequency(key) > sketch.frequency(victim)) {
+            victims.remove();
+            probation.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the oldest entry of a region.
+     *
+     * @param region the region
+     * @param <K>    the type of the keys
+     * @param <V>    the type of the values
+     * @return the removed entry
+     */
+    private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> region) {
+        Iterator<Map.Entry<K, V>> iterator = region.entrySet().iterator();
+        Map.Entry<K, V> eldest = iterator.next();
+        Map.Entry<K, V> copy = new AbstractMap.SimpleImmutableEntry<>(eldest);
+        iterator.remove();
+        return copy;
+    }
+
+    /**
+     * A count-min sketch with 4 rows of counters that saturate at 15.
+     * All counters are halved after a sample period, so old popularity fades away.
+     */
+    private static final class FrequencySketch {
+        /**
+         * The seeds of the hash functions, one per row
+         */
+        private static final int[] SEEDS = {0x97cb3127, 0xb1d5b5b3, 0x9e3779b9, 0x7fb5d329};
+
+        /**
+         * The counters, one row after the other
+         */
+        private final byte[] counters;
+
+        /**
+         * Width of a row minus one, the width is a power of two
+         */
+        private final int mask;
+
+        /**
+         * Number of increments after which all counters are halved
+         */
+        private final int samplePeriod;
+
+        /**
+         * Number of increments since the last halving
+         */
+        private int additions;
+
+        /**
+         * Creates a sketch for a cache of the given size.
+         *
+         * @param maximumSize the maximum number of entries of the cache
+         */
+        private FrequencySketch(int maximumSize) {
+            int width = Integer.highestOneBit(Math.max(16, maximumSize) * 2 - 1);
+            this.counters = new byte[width * SEEDS.length];
+            this.mask = width - 1;
+            this.samplePeriod = Math.max(160, maximumSize * 10);
+        }
+
+        /**
+         * Counts an access of a key.
+         *
+         * @param key the key
+         */
+        private void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < SEEDS.length; row++) {
+                int index = indexOf(hash, row);
+                if (counters[index] < 15) {
+                    counters[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= samplePeriod) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        /**
+         * Estimates how often a key was used.
+         *
+         * @param key the key
+         * @return the estimated frequency, at most 15
+         */
+        private int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = 15;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, counters[indexOf(hash, row)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * Gets the position of the counter of a hash in a row.
+         *
+         * @param hash the spread hash of the key
+         * @param row  the row
+         * @return the position in the counter array
+         */
+        private int indexOf(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[row];
+            h ^= h >>> 16;
+            return row * (mask + 1) + (h & mask);
+        }
+
+        /**
+         * Mixes the bits of a hash code.
+         *
+         * @param hashCode the hash code
+         * @return the mixed hash
+         */
+        private static int spread(int hashCode) {
+            int h = hashCode * 0x9e3779b9;
+            return h ^ (h >>> 15);
+        }
+    }
+}
@@ -1,57 +1,46 @@
 package com.example.projecttracker.util;
 
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import java.io.IOException;
 import java.nio.file.Paths;
 
 /**
  * This class is used to remove redundant code in other classes.
+ * The writers come from the {@link SerializationRegistry}, so nothing is built per call.
  *
  * @author Alyssa Heimlicher
- * @version 1.0
+ * @version 1.1
  * @since 2022-06-07
  */
 public class ToJson {
 
     /**
-     * This method is used to add an object to a json file with a filterprovider.
+     * This method is used to turn an object into json with a filter set.
      *
-     * @param t              he object to add to the json file
-     * @param filterProvider the filterprovider to use
-     * @param <T>            the type of the object
-     * @return the objectwriter with the filterprovider
-     * @throws JsonProcessingException if the object cannot be written to the json file
+     * @param t         the object to turn into json
+     * @param filterSet the filters to use
+     * @param <T>       the type of the object
+     * @return the object as json
+     * @throws JsonProcessingException if the object cannot be written as json
      */
-    public static <T> String toJson(T t, FilterProvider filterProvider) throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-
-        return objectMapper
-                .writer(filterProvider)
+    public static <T> String toJson(T t, FilterSet filterSet) throws JsonProcessingException {
+        return SerializationRegistry.writerForValue(t, filterSet)
                 .writeValueAsString(t);
     }
 
     /**
-     * This method is used to add an object to a json file with a filterprovider.
+     * This method is used to write an object to a json file with a filter set.
      *
-     * @param filePath       the to be changed json file path
-     * @param t              the object to add to the json file
-     * @param filterProvider the filterprovider to use
-     * @param <T>            the type of the object
+     * @param filePath  the to be changed json file path
+     * @param t         the object to write to the json file
+     * @param filterSet the filters to use
+     * @param <T>       the type of the object
      * @throws IOException if something fails in the input output
      */
-    public static <T> void toJson(String filePath, T t, FilterProvider filterProvider) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        objectMapper
-                .writer(filterProvider)
+    public static <T> void toJson(String filePath, T t, FilterSet filterSet) throws IOException {
+        SerializationRegistry.writerForValue(t, filterSet)
                 .writeValue(Paths.get(filePath).toFile(), t);
     }
 }
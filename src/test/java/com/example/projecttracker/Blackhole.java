@@ -0,0 +1,71 @@
+package com.example.projecttracker;
+
+/**
+ * Takes the results of the benchmarked calls, so the JIT cannot find out that they are not used and drop the work
+ * that computed them (like the Blackhole of JMH). The results are compared with fields the JIT cannot predict
+ * and only rarely written, so consuming a result costs a few nanoseconds and no shared write per call.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see MicroBenchmark
+ * @since 2026-10-17
+ */
+public final class Blackhole {
+    /**
+     * Two different values, a consumed value is never equal to both of them but the JIT cannot know that
+     */
+    private volatile long first = 1;
+
+    /**
+     * The second value, see {@link #first}
+     */
+    private volatile long second = 2;
+
+    /**
+     * The last object that was written, only now and then
+     */
+    private volatile Object object;
+
+    /**
+     * A random number that decides when an object is written
+     */
+    private int random = 1;
+
+    /**
+     * The mask of the random number, it gets wider with every write so the writes get rarer
+     */
+    private int mask = 1;
+
+    /**
+     * Consumes an object.
+     *
+     * @param result the object
+     */
+    public void consume(Object result) {
+        random = random * 1664525 + 1013904223;
+        if ((random & mask) == 0) {
+            object = result;
+            mask = (mask << 1) + 1;
+        }
+    }
+
+    /**
+     * Consumes a number.
+     *
+     * @param result the number
+     */
+    public void consume(long result) {
+        if (result == first & result == second) {
+            object = result;
+        }
+    }
+
+    /**
+     * Consumes a boolean.
+     *
+     * @param result the boolean
+     */
+    public void consume(boolean result) {
+        consume(result ? 1L : 0L);
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.projecttracker;
+
+import com.example.projecttracker.model.Status;
+import com.example.projecttracker.model.Task;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * A small harness for the micro-benchmarks in the test sources. They are plain main methods and don't run with the tests,
+ * e.g. {@code java -cp target/classes:target/test-classes:<dependencies> com.example.projecttracker.util.SerializationBenchmark}.
+ * It stands in for JMH, which the offline build of the project cannot download, and copies what matters of it:
+ * <ul>
+ *     <li>every case is warmed up first and then timed in benchmark.trials trials (default 5),
+ *     the average time of one call with its standard deviation over the trials is printed</li>
+ *     <li>the bytes allocated by one call are printed, only those of the calling thread and only if the JVM
+ *     can count them, else n/a</li>
+ *     <li>the results of the calls go into a {@link Blackhole}, so the JIT cannot drop the work</li>
+ *     <li>a benchmark that calls {@link #fork(Class, String[])} runs in benchmark.forks new JVMs (default 2),
+ *     so a case is not slowed down by the JIT profile of the cases before it in another fork</li>
+ * </ul>
+ * The numbers only compare the cases of one run on one machine, they are no guarantee.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class MicroBenchmark {
+    /**
+     * The words of the generated texts
+     */
+    private static final String[] WORDS = {"enemy", "player", "level", "texture", "model", "sound", "menu", "bug",
+            "crash", "save", "load", "camera", "light", "shadow", "physics", "network", "score", "input", "render", "ai"};
+
+    /**
+     * Takes the results of the calls, so the JIT cannot drop them
+     */
+    private static final Blackhole BLACKHOLE = new Blackhole();
+
+    /**
+     * The number of timed trials of every case
+     */
+    private static final int TRIALS = Math.max(1, Integer.getInteger("benchmark.trials", 5));
+
+    /**
+     * The number of JVMs a forked benchmark runs in, 0 to run it in this JVM
+     */
+    private static final int FORKS = Math.max(0, Integer.getInteger("benchmark.forks", 2));
+
+    /**
+     * Counts the bytes allocated by a thread, null if the JVM cannot count them
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    /**
+     * Utility class, no instances.
+     */
+    private MicroBenchmark() {
+    }
+
+    /**
+     * Runs a benchmark in new JVMs, if it is not already running in one of them. Every fork prints its own results.
+     * Called first thing in the main method of a benchmark: {@code if (MicroBenchmark.fork(MyBenchmark.class, args)) return;}
+     *
+     * @param benchmark the class with the main method of the benchmark
+     * @param args      the arguments of the benchmark
+     * @return true if the benchmark ran in the forks, false if it has to run in this JVM
+     * @throws Exception when a fork cannot be started or fails
+     */
+    public static boolean fork(Class<?> benchmark, String[] args) throws Exception {
+        if (FORKS == 0) {
+            return false;
+        }
+        for (int i = 1; i <= FORKS; i++) {
+            System.out.println("# fork " + i + " of " + FORKS);
+            List<String> command = new ArrayList<>(Arrays.asList(
+                    Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    "-Dbenchmark.forks=0", "-Dbenchmark.trials=" + TRIALS,
+                    benchmark.getName()));
+            command.addAll(Arrays.asList(args));
+            int exit = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exit != 0) {
+                throw new IllegalStateException("Fork " + i + " of " + benchmark.getSimpleName() + " exited with " + exit);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Warms up a case, times it in trials and prints the average time and allocated bytes of one call.
+     *
+     * @param name       the name of the case
+     * @param warmups    the number of calls that are not timed
+     * @param iterations the number of calls that are timed per trial
+     * @param call       the call, its result goes into the blackhole
+     * @return the average time of one call in microseconds
+     * @throws Exception when the call fails
+     */
+    public static double run(String name, int warmups, int iterations, Callable<?> call) throws Exception {
+        return run(name, warmups, iterations, blackhole -> blackhole.consume(call.call()));
+    }
+
+    /**
+     * Warms up a case, times it in trials and prints the average time and allocated bytes of one call.
+     *
+     * @param name       the name of the case
+     * @param warmups    the number of calls that are not timed
+     * @param iterations the number of calls that are timed per trial
+     * @param call       the call, it puts what it computes into the blackhole
+     * @return the average time of one call in microseconds
+     * @throws Exception when the call fails
+     */
+    public static double run(String name, int warmups, int iterations, Case call) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            call.run(BLACKHOLE);
+        }
+        double[] trials = new double[TRIALS];
+        long allocatedBefore = allocatedBytes();
+        for (int trial = 0; trial < TRIALS; trial++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                call.run(BLACKHOLE);
+            }
+            trials[trial] = (System.nanoTime() - start) / 1000.0 / iterations;
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        double micros = 0;
+        for (double trial : trials) {
+            micros += trial;
+        }
+        micros /= TRIALS;
+        double variance = 0;
+        for (double trial : trials) {
+            variance += (trial - micros) * (trial - micros);
+        }
+        double deviation = Math.sqrt(variance / TRIALS);
+        String bytes = allocatedBefore < 0 ? "n/a" : String.format(Locale.ROOT, "%.0f", (double) allocated / iterations / TRIALS);
+        System.out.printf(Locale.ROOT, "%-40s %12.2f +- %8.2f us/op %14s B/op%n", name, micros, deviation, bytes);
+        return micros;
+    }
+
+    /**
+     * Gets the bytes the calling thread allocated so far.
+     *
+     * @return the bytes or -1 if the JVM cannot count them
+     */
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Gets the bean that counts the bytes allocated by a thread and turns the counting on.
+     *
+     * @return the bean or null if the JVM cannot count them
+     */
+    private static com.sun.management.ThreadMXBean threads() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Prints how much faster the second case was.
+     *
+     * @param before the time of the old way, see {@link #run(String, int, int, Callable)}
+     * @param after  the time of the new way
+     */
+    public static void compare(double before, double after) {
+        System.out.printf(Locale.ROOT, "%-40s %12.2fx%n", "speedup", before / after);
+    }
+
+    /**
+     * Replaces the settings of the application, e.g. to point a collection to a generated file.
+     * Only storages and handlers that are created afterwards see the new settings.
+     *
+     * @param properties the settings
+     * @throws ReflectiveOperationException when the settings cannot be replaced
+     */
+    public static void configure(Properties properties) throws ReflectiveOperationException {
+        Method setProperties = Config.class.getDeclaredMethod("setProperties", Properties.class);
+        setProperties.setAccessible(true);
+        setProperties.invoke(null, properties);
+    }
+
+    /**
+     * Generates tasks with random texts, deadlines and states. The same count always gives the same tasks.
+     *
+     * @param count the number of tasks
+     * @param words the number of words of every description
+     * @return the tasks
+     */
+    public static List<Task> tasks(int count, int words) {
+        Random random = new Random(count);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTaskUUID(new UUID(random.nextLong(), random.nextLong()).toString());
+            task.setTitle(text(random, 3));
+            task.setDescription(text(random, words));
+            task.setDeadline(LocalDate.of(2022, 1, 1).plusDays(random.nextInt(1000)));
+            task.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Generates a text.
+     *
+     * @param random the random numbers
+     * @param words  the number of words
+     * @return the words separated by spaces
+     */
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(50));
+        }
+        return text.toString();
+    }
+
+    /**
+     * A benchmarked call that puts its results into a blackhole itself
+     */
+    public interface Case {
+        /**
+         * Runs the call once.
+         *
+         * @param blackhole takes the results
+         * @throws Exception when the call fails
+         */
+        void run(Blackhole blackhole) throws Exception;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.MicroBenchmark;
+import com.example.projecttracker.model.Task;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Compares the scan for a field value (like {@code DataHandlerGen#indexOf}) with a field lookup by reflection
+ * for every element (how it was done before) and with one {@link FieldAccessor} for the whole scan.
+ * The value is the uuid of the last task, so every task is looked at.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see MicroBenchmark
+ * @since 2026-10-17
+ */
+public class FieldAccessorBenchmark {
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of tasks (default 10000)
+     * @throws Exception when the field cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        if (MicroBenchmark.fork(FieldAccessorBenchmark.class, args)) {
+            return;
+        }
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        List<Task> tasks = MicroBenchmark.tasks(count, 0);
+        String uuid = tasks.get(count - 1).getTaskUUID();
+        System.out.println(count + " tasks");
+
+        // every value that is read goes into the blackhole, so no read can be dropped
+        double before = MicroBenchmark.run("getDeclaredField per element", 200, 1000, blackhole -> {
+            for (int i = 0; i < tasks.size(); i++) {
+                Task t = tasks.get(i);
+                Field privateField = t.getClass().getDeclaredField("taskUUID");
+                privateField.setAccessible(true);
+                Object value = privateField.get(t);
+                blackhole.consume(value);
+                if (value.equals(uuid)) {
+                    blackhole.consume(i);
+                    return;
+                }
+            }
+        });
+        double after = MicroBenchmark.run("FieldAccessor per scan", 200, 1000, blackhole -> {
+            FieldAccessor field = FieldAccessor.of(Task.class, "taskUUID");
+            for (int i = 0; i < tasks.size(); i++) {
+                Object value = field.get(tasks.get(i));
+                blackhole.consume(value);
+                if (value.equals(uuid)) {
+                    blackhole.consume(i);
+                    return;
+                }
+            }
+        });
+        MicroBenchmark.compare(before, after);
+    }
+}
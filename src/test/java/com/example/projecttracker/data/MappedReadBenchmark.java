@@ -0,0 +1,70 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.MicroBenchmark;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Compares the ways a JSON-file is read completely: copying it into a byte[] first (how it was done before),
+ * streaming it and reading it through the memory mapping (mappedReads=true).
+ * Every way is run with a small and a big file, the mapping only pays off once the file is big.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see MicroBenchmark
+ * @since 2026-10-17
+ */
+public class MappedReadBenchmark {
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the numbers of tasks (default 10000 and 100000)
+     * @throws Exception when the file cannot be written or read
+     */
+    public static void main(String[] args) throws Exception {
+        String[] counts = args.length > 0 ? args : new String[]{"10000", "100000"};
+        for (String count : counts) {
+            run(Integer.parseInt(count));
+        }
+    }
+
+    /**
+     * Runs the benchmark with a file of tasks.
+     *
+     * @param count the number of tasks
+     * @throws Exception when the file cannot be written or read
+     */
+    private static void run(int count) throws Exception {
+        // about the same time for every size
+        int iterations = Math.max(10, 1000000 / count);
+        int warmups = Math.max(2, iterations / 5);
+        List<Task> tasks = MicroBenchmark.tasks(count, 12);
+        Path file = Files.createTempFile("tasks", ".json");
+        try {
+            SerializationRegistry.listWriter(Task.class, FilterSet.NONE).writeValue(file.toFile(), tasks);
+            Properties properties = new Properties();
+            properties.setProperty("taskJSON", file.toString());
+            MicroBenchmark.configure(properties);
+            System.out.println(count + " tasks, " + Files.size(file) + " bytes");
+
+            double before = MicroBenchmark.run("readAllBytes, bind", warmups, iterations,
+                    () -> SerializationRegistry.listReader(Task.class).readValue(Files.readAllBytes(file)));
+            CollectionStorage<Task> streamed = CollectionStorage.create("taskJSON", Task.class, FilterSet.NONE);
+            double stream = MicroBenchmark.run("stream, bind", warmups, iterations, streamed::readAll);
+            MicroBenchmark.compare(before, stream);
+
+            properties.setProperty("mappedReads", "true");
+            CollectionStorage<Task> mapped = CollectionStorage.create("taskJSON", Task.class, FilterSet.NONE);
+            double after = MicroBenchmark.run("memory mapping, bind", warmups, iterations, mapped::readAll);
+            MicroBenchmark.compare(before, after);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.MicroBenchmark;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.util.SerializationRegistry;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Compares a lookup by uuid in a JSON-file without an index: binding the whole file and searching the list
+ * (how it was done before) and streaming through the file with {@link CollectionStorage#find(String)}.
+ * The uuid is in the middle of the file.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see MicroBenchmark
+ * @since 2026-10-17
+ */
+public class StreamingLookupBenchmark {
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of tasks (default 10000)
+     * @throws Exception when the file cannot be written or read
+     */
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        List<Task> tasks = MicroBenchmark.tasks(count, 12);
+        Path file = Files.createTempFile("tasks", ".json");
+        try {
+            SerializationRegistry.listWriter(Task.class, FilterSet.NONE).writeValue(file.toFile(), tasks);
+            Properties properties = new Properties();
+            properties.setProperty("taskJSON", file.toString());
+            MicroBenchmark.configure(properties);
+            System.out.println(count + " tasks, " + Files.size(file) + " bytes");
+
+            CollectionStorage<Task> storage = CollectionStorage.create("taskJSON", Task.class, FilterSet.NONE);
+            String uuid = tasks.get(count / 2).getTaskUUID();
+            double before = MicroBenchmark.run("bind all, search the list", 20, 100, () -> {
+                for (Task task : storage.readAll()) {
+                    if (task.getTaskUUID().equals(uuid)) {
+                        return task;
+                    }
+                }
+                return null;
+            });
+            double after = MicroBenchmark.run("stream, bind the match", 20, 100, () -> storage.find(uuid));
+            MicroBenchmark.compare(before, after);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
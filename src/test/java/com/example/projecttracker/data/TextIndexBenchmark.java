@@ -0,0 +1,88 @@
+package com.example.projecttracker.data;
+
+import com.example.projecttracker.MicroBenchmark;
+import com.example.projecttracker.model.Task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Compares the full-text search over the title and the description of tasks: scanning all tasks for the words
+ * of the query and looking them up in the {@link TextIndex}. Also times building the index and indexing a changed task.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see MicroBenchmark
+ * @since 2026-10-17
+ */
+public class TextIndexBenchmark {
+    /**
+     * The queries, from a common word to words that are rarely together
+     */
+    private static final String[] QUERIES = {"enemy1", "player2 level3", "crash4 save5 load6"};
+
+    /**
+     * The maximum number of hits, like the default limit of /search
+     */
+    private static final int LIMIT = 50;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of tasks (default 100000)
+     * @throws Exception when a search fails
+     */
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        List<Task> tasks = MicroBenchmark.tasks(count, 32);
+        Function<Task, String> textOf = SearchKeys.textOf(Task.class);
+        System.out.println(count + " tasks, 32 words each");
+
+        long start = System.nanoTime();
+        TextIndex<Task> index = new TextIndex<>(textOf);
+        for (Task task : tasks) {
+            index.put(task.getTaskUUID(), task);
+        }
+        System.out.printf(Locale.ROOT, "build index %.0f ms%n", (System.nanoTime() - start) / 1e6);
+
+        for (String query : QUERIES) {
+            double before = MicroBenchmark.run("scan \"" + query + "\"", 5, 20, () -> scan(tasks, textOf, query));
+            double after = MicroBenchmark.run("index \"" + query + "\"", 50, 500, () -> index.search(query, null, LIMIT));
+            MicroBenchmark.compare(before, after);
+        }
+
+        Task changed = tasks.get(count / 2);
+        int[] version = {0};
+        MicroBenchmark.run("index a changed task", 1000, 10000, () -> {
+            changed.setTitle("changed " + version[0]++);
+            index.put(changed.getTaskUUID(), changed);
+            return changed;
+        });
+    }
+
+    /**
+     * Finds the tasks with all words of a query by looking at every task, without ranking them.
+     * It stops at the limit, so a common word is found sooner than by a search that ranks all matches.
+     *
+     * @param tasks  the tasks
+     * @param textOf gets the text of a task
+     * @param query  the query
+     * @return the uuids of the first tasks with all words
+     */
+    private static List<String> scan(List<Task> tasks, Function<Task, String> textOf, String query) {
+        List<String> words = TextIndex.words(query);
+        List<String> found = new ArrayList<>();
+        for (Task task : tasks) {
+            if (new HashSet<>(TextIndex.words(textOf.apply(task))).containsAll(words)) {
+                found.add(task.getTaskUUID());
+                if (found.size() == LIMIT) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+}
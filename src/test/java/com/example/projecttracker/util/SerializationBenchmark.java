@@ -0,0 +1,65 @@
+package com.example.projecttracker.util;
+
+import com.example.projecttracker.MicroBenchmark;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares reading and writing a list of tasks with a new ObjectMapper for every call (how the data handlers did it)
+ * and with the shared readers and writers of the {@link SerializationRegistry}.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see MicroBenchmark
+ * @since 2026-10-17
+ */
+public class SerializationBenchmark {
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of tasks (default 1000)
+     * @throws Exception when the tasks cannot be read or written
+     */
+    public static void main(String[] args) throws Exception {
+        if (MicroBenchmark.fork(SerializationBenchmark.class, args)) {
+            return;
+        }
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        List<Task> tasks = MicroBenchmark.tasks(count, 12);
+        byte[] json = SerializationRegistry.listWriter(Task.class, FilterSet.NONE).writeValueAsBytes(tasks);
+        System.out.println(count + " tasks, " + json.length + " bytes");
+
+        double readBefore = MicroBenchmark.run("read, new ObjectMapper", 200, 1000, () -> {
+            ObjectMapper objectMapper = newMapper();
+            return objectMapper.readValue(json, objectMapper.getTypeFactory().constructCollectionType(ArrayList.class, Task.class));
+        });
+        ObjectReader reader = SerializationRegistry.listReader(Task.class);
+        double readAfter = MicroBenchmark.run("read, shared reader", 200, 1000, () -> reader.readValue(json));
+        MicroBenchmark.compare(readBefore, readAfter);
+
+        double writeBefore = MicroBenchmark.run("write, new ObjectMapper", 200, 1000, () -> newMapper().writeValueAsBytes(tasks));
+        ObjectWriter writer = SerializationRegistry.listWriter(Task.class, FilterSet.NONE);
+        double writeAfter = MicroBenchmark.run("write, shared writer", 200, 1000, () -> writer.writeValueAsBytes(tasks));
+        MicroBenchmark.compare(writeBefore, writeAfter);
+    }
+
+    /**
+     * Creates a mapper like the data handlers did before the registry.
+     *
+     * @return the mapper
+     */
+    private static ObjectMapper newMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        return objectMapper;
+    }
+}
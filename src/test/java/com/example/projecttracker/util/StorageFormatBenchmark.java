@@ -0,0 +1,52 @@
+package com.example.projecttracker.util;
+
+import com.example.projecttracker.MicroBenchmark;
+import com.example.projecttracker.model.Task;
+import com.example.projecttracker.util.SerializationRegistry.DataFormat;
+import com.example.projecttracker.util.SerializationRegistry.FilterSet;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the same tasks as JSON, Smile and CBOR (see storageFormat) and compares the size of the files
+ * and the time it takes to read them back.
+ *
+ * @author Alyssa Heimlicher
+ * @version 1.0
+ * @see MicroBenchmark
+ * @since 2026-10-17
+ */
+public class StorageFormatBenchmark {
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of tasks (default 10000)
+     * @throws Exception when a file cannot be written or read
+     */
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        List<Task> tasks = MicroBenchmark.tasks(count, 12);
+        System.out.println(count + " tasks");
+
+        double json = 0;
+        for (DataFormat format : DataFormat.values()) {
+            Path file = Files.createTempFile("tasks", "." + format.name().toLowerCase(Locale.ROOT));
+            try {
+                SerializationRegistry.listWriter(Task.class, FilterSet.NONE, format).writeValue(file.toFile(), tasks);
+                System.out.printf(Locale.ROOT, "%-40s %12d bytes%n", format + " file", Files.size(file));
+                double micros = MicroBenchmark.run(format + " read", 20, 100,
+                        () -> SerializationRegistry.listReader(Task.class, format).readValue(file.toFile()));
+                if (format == DataFormat.JSON) {
+                    json = micros;
+                } else {
+                    MicroBenchmark.compare(json, micros);
+                }
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+}